@@ -0,0 +1,60 @@
+package com.example.authservice.benchmark;
+
+import com.example.authservice.mail.EmailTemplateService;
+import com.example.authservice.mail.InlineLogo;
+import com.example.authservice.mail.MailQueue;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeBodyPart;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * HTML rendering only: the mail queue is replaced by a stub that keeps the rendered body.
+ */
+@State(Scope.Benchmark)
+public class EmailTemplateBenchmark {
+
+    private CapturingMailQueue mailQueue;
+    private EmailTemplateService templateService;
+    private InlineLogo inlineLogo;
+
+    @Setup
+    public void setUp() {
+        mailQueue = new CapturingMailQueue();
+        templateService = new EmailTemplateService(mailQueue, "https://chat.whatsapp.com/invite");
+        inlineLogo = new InlineLogo();
+    }
+
+    @Benchmark
+    public String welcomeEmail() {
+        templateService.sendWelcomeEmail("member@app-in-science.cc", "Doe", "Jane");
+        return mailQueue.lastBody;
+    }
+
+    @Benchmark
+    public String activationEmail() {
+        templateService.sendAccountActivationEmailNotification("member@app-in-science.cc", "Doe", "Jane");
+        return mailQueue.lastBody;
+    }
+
+    @Benchmark
+    public MimeBodyPart inlineLogoPart() throws MessagingException {
+        return inlineLogo.newPart();
+    }
+
+    static final class CapturingMailQueue extends MailQueue {
+
+        String lastBody;
+
+        CapturingMailQueue() {
+            super(null);
+        }
+
+        @Override
+        public void enqueue(String to, String subject, String htmlBody) {
+            lastBody = htmlBody;
+        }
+    }
+}
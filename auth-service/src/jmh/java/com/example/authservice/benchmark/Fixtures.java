@@ -0,0 +1,38 @@
+package com.example.authservice.benchmark;
+
+import com.example.authservice.security.jwt.JwtKeyRing;
+import com.example.authservice.security.jwt.JwtSigningAlgorithm;
+import com.example.authservice.security.jwt.JwtSigningProperties;
+import com.example.authservice.security.jwt.JwtUtil;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+final class Fixtures {
+
+    static final String SECRET = "benchmark-secret-benchmark-secret-0123456789";
+    static final long EXPIRATION = 86400000L;
+
+    private Fixtures() {}
+
+    static JwtUtil jwtUtil() {
+        return jwtUtil(JwtSigningAlgorithm.HS256);
+    }
+
+    // asymmetric modes fall back to an ephemeral key pair because no keys are configured
+    static JwtUtil jwtUtil(JwtSigningAlgorithm algorithm) {
+        JwtSigningProperties properties = new JwtSigningProperties(algorithm, null, List.of(), true);
+        JwtUtil jwtUtil = new JwtUtil(new JwtKeyRing(properties, SECRET));
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpiration", EXPIRATION);
+        return jwtUtil;
+    }
+
+    static UserDetails member() {
+        return User.withUsername("member@app-in-science.cc")
+                .password("unused")
+                .authorities("USER")
+                .build();
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.authservice.benchmark;
+
+import com.example.authservice.security.AuthMetrics;
+import com.example.authservice.security.jwt.JwtAuthenticationFilter;
+import com.example.authservice.security.jwt.JwtUtil;
+import com.example.authservice.security.jwt.TokenRevocations;
+import com.example.authservice.security.jwt.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+
+/**
+ * One full pass through the JWT filter with a valid bearer token and a no-op downstream chain.
+ */
+@State(Scope.Benchmark)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"false", "true"})
+    public boolean tokenCache;
+
+    private JwtAuthenticationFilter filter;
+    private String authorizationHeader;
+
+    @Setup
+    public void setUp() {
+        JwtUtil jwtUtil = Fixtures.jwtUtil();
+        VerifiedTokenCache cache = new VerifiedTokenCache(tokenCache, 10_000, new SimpleMeterRegistry());
+        // nothing revoked: measures the local Bloom filter probe every request pays
+        TokenRevocations revocations = new TokenRevocations(null, null, null, 86_400_000, 100_000, 0.001);
+        filter = new JwtAuthenticationFilter(jwtUtil, null, cache, revocations, new AuthMetrics(new SimpleMeterRegistry()));
+        authorizationHeader = "Bearer " + jwtUtil.generateToken(Fixtures.member());
+    }
+
+    @Benchmark
+    public MockHttpServletResponse authenticatedRequest() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/auth/me");
+        request.addHeader("Authorization", authorizationHeader);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, new MockFilterChain());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response;
+    }
+}
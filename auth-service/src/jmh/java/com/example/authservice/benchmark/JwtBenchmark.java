@@ -0,0 +1,45 @@
+package com.example.authservice.benchmark;
+
+import com.example.authservice.security.jwt.JwtSigningAlgorithm;
+import com.example.authservice.security.jwt.JwtUtil;
+import com.example.authservice.security.jwt.JwtVerification;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.core.userdetails.UserDetails;
+
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    @Param({"HS256", "ES256", "EDDSA"})
+    public JwtSigningAlgorithm algorithm;
+
+    private JwtUtil jwtUtil;
+    private UserDetails member;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = Fixtures.jwtUtil(algorithm);
+        member = Fixtures.member();
+        token = jwtUtil.generateToken(member);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(member);
+    }
+
+    @Benchmark
+    public Claims getClaims() {
+        return jwtUtil.getClaims(token);
+    }
+
+    @Benchmark
+    public JwtVerification verify() {
+        return jwtUtil.verify(token);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.authservice.benchmark;
+
+import com.example.authservice.util.PhoneNumberValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+public class PhoneNumberValidatorBenchmark {
+
+    public String number = "06 12 34 56 78";
+
+    @Benchmark
+    public String validateAndFormat() {
+        if (!PhoneNumberValidator.isValid(number, "MA")) {
+            throw new IllegalStateException("fixture number should be valid");
+        }
+        return PhoneNumberValidator.formatToE164(number, "MA");
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.authservice.benchmark;
+
+import com.example.authservice.DTO.MemberSnapshot;
+import com.example.authservice.DTO.ParticipantDTO;
+import com.example.authservice.enums.AcademicYear;
+import com.example.authservice.enums.AccountStatus;
+import com.example.authservice.enums.Gender;
+import com.example.authservice.enums.Major;
+import com.example.authservice.enums.Role;
+import com.example.authservice.serialization.PayloadCodec;
+import com.example.authservice.serialization.PayloadFormat;
+import com.example.authservice.service.MemberSnapshotPayloadType;
+import com.example.authservice.service.ParticipantPayloadType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Current JSON value serializer against the binary payload codec, both decoding into the payload's own type, in ns/op.
+ * The serialize benchmarks also report the encoded sizes as the {@code jsonBytes} / {@code binaryBytes} counters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RedisPayloadBenchmark {
+
+    @Param({"participant", "member"})
+    public String payload;
+
+    private Jackson2JsonRedisSerializer<Object> json;
+    private PayloadCodec codec;
+    private Object value;
+    private Class<?> type;
+    private byte[] jsonBytes;
+    private byte[] binaryBytes;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        codec = new PayloadCodec(List.of(new ParticipantPayloadType(), new MemberSnapshotPayloadType()),
+                new ObjectMapper(), PayloadFormat.BINARY);
+        value = payload.equals("participant")
+                ? new ParticipantDTO(48_213L, "member@app-in-science.cc")
+                : new MemberSnapshot(48_213L, "member@app-in-science.cc", "Jane", "Doe", "+213555123456",
+                        Gender.FEMALE, Major.values()[0], AcademicYear.values()[0], "machine learning, robotics, chess",
+                        AccountStatus.ACTIVATED, Set.of(Role.USER));
+        type = value.getClass();
+        json = (Jackson2JsonRedisSerializer<Object>) new Jackson2JsonRedisSerializer<>(type);
+        jsonBytes = json.serialize(value);
+        binaryBytes = codec.encode(value);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+
+        public long jsonBytes;
+        public long binaryBytes;
+
+        @Setup(Level.Iteration)
+        public void record(RedisPayloadBenchmark benchmark) {
+            jsonBytes = benchmark.jsonBytes.length;
+            binaryBytes = benchmark.binaryBytes.length;
+        }
+    }
+
+    @Benchmark
+    public byte[] jsonSerialize(PayloadSize size) {
+        return json.serialize(value);
+    }
+
+    @Benchmark
+    public Object jsonDeserialize() {
+        return json.deserialize(jsonBytes);
+    }
+
+    @Benchmark
+    public byte[] binarySerialize(PayloadSize size) {
+        return codec.encode(value);
+    }
+
+    @Benchmark
+    public Object binaryDeserialize() {
+        return codec.decode(binaryBytes, type);
+    }
+}
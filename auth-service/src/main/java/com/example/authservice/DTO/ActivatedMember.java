@@ -0,0 +1,15 @@
+package com.example.authservice.DTO;
+
+/**
+ * Row returned by the activation {@code UPDATE ... RETURNING}.
+ */
+public interface ActivatedMember {
+
+    Long getId();
+
+    String getEmail();
+
+    String getFirstName();
+
+    String getLastName();
+}
@@ -0,0 +1,47 @@
+package com.example.authservice.DTO;
+
+import com.example.authservice.enums.AcademicYear;
+import com.example.authservice.enums.Major;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Either explicit member ids, or a major (optionally narrowed by academic year) selecting every disabled account.
+ */
+public record BulkActivationRequest(
+
+        @Size(max = 1000)
+        List<@NotNull Long> ids,
+
+        @Size(max = 50)
+        String major,
+
+        @Size(max = 50)
+        String academicYear
+) {
+
+    @AssertTrue(message = "Provide either ids or a major filter")
+    public boolean isSelective() {
+        boolean byIds = ids != null && !ids.isEmpty();
+        return byIds != (major != null);
+    }
+
+    @AssertTrue(message = "academicYear narrows a major filter and needs major")
+    public boolean isAcademicYearWithMajor() {
+        return academicYear == null || major != null;
+    }
+
+    @AssertTrue(message = "Unknown major")
+    public boolean isKnownMajor() {
+        return major == null || Arrays.stream(Major.values()).anyMatch(m -> m.name().equals(major));
+    }
+
+    @AssertTrue(message = "Unknown academic year")
+    public boolean isKnownAcademicYear() {
+        return academicYear == null || Arrays.stream(AcademicYear.values()).anyMatch(y -> y.name().equals(academicYear));
+    }
+}
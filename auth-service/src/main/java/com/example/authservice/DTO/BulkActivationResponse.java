@@ -0,0 +1,15 @@
+package com.example.authservice.DTO;
+
+import com.example.authservice.enums.ActivationOutcome;
+
+import java.util.List;
+
+public record BulkActivationResponse(
+        int activated,
+        int alreadyActive,
+        int notFound,
+        List<Result> results
+) {
+
+    public record Result(Long id, String email, ActivationOutcome outcome) {}
+}
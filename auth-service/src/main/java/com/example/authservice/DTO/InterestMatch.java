@@ -0,0 +1,9 @@
+package com.example.authservice.DTO;
+
+/**
+ * {@code score} is the number of distinct query terms found in the member's interests.
+ */
+public record InterestMatch(
+        MemberSummary member,
+        int score
+) {}
@@ -0,0 +1,22 @@
+package com.example.authservice.DTO;
+
+import com.example.authservice.enums.AccountStatus;
+import com.example.authservice.enums.Role;
+
+import java.util.Set;
+
+/**
+ * The only columns a login needs; loaded without hydrating the {@code Member} entity.
+ */
+public record MemberCredentials(
+        Long id,
+        String email,
+        String password,
+        Set<Role> roles,
+        AccountStatus status
+) {
+
+    public MemberCredentials withPassword(String newPassword) {
+        return new MemberCredentials(id, email, newPassword, roles, status);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.authservice.DTO;
+
+import com.example.authservice.enums.AcademicYear;
+import com.example.authservice.enums.AccountStatus;
+import com.example.authservice.enums.Major;
+
+/**
+ * Directory filters; null fields are not applied.
+ */
+public record MemberFilter(
+        AccountStatus status,
+        Major major,
+        AcademicYear academicYear
+) {}
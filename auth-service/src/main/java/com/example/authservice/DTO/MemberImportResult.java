@@ -0,0 +1,29 @@
+package com.example.authservice.DTO;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One NDJSON line of the import response: either a row outcome or, last, the totals.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record MemberImportResult(
+        Long line,
+        String email,
+        Boolean imported,
+        String error,
+        Long importedTotal,
+        Long failedTotal
+) {
+
+    public static MemberImportResult imported(long line, String email) {
+        return new MemberImportResult(line, email, true, null, null, null);
+    }
+
+    public static MemberImportResult failed(long line, String email, String error) {
+        return new MemberImportResult(line, email, false, error, null, null);
+    }
+
+    public static MemberImportResult summary(long imported, long failed) {
+        return new MemberImportResult(null, null, null, null, imported, failed);
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.authservice.DTO;
+
+import com.example.authservice.enums.AccountStatus;
+
+public record MemberInterests(
+        Long id,
+        String interests,
+        AccountStatus status
+) {}
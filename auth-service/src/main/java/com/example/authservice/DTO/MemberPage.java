@@ -0,0 +1,11 @@
+package com.example.authservice.DTO;
+
+import java.util.List;
+
+/**
+ * {@code nextCursor} is the {@code after} value for the following page, null on the last page.
+ */
+public record MemberPage(
+        List<MemberSummary> members,
+        Long nextCursor
+) {}
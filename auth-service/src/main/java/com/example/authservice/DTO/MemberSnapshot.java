@@ -0,0 +1,43 @@
+package com.example.authservice.DTO;
+
+import com.example.authservice.entity.Member;
+import com.example.authservice.enums.AcademicYear;
+import com.example.authservice.enums.AccountStatus;
+import com.example.authservice.enums.Gender;
+import com.example.authservice.enums.Major;
+import com.example.authservice.enums.Role;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Immutable copy of a member row as held by the member cache; callers get detached entities built from it, never the
+ * cached instance itself. The password hash is left out because snapshots are shared through Redis; logins read
+ * credentials through {@code MemberCache#findCredentials} instead.
+ */
+public record MemberSnapshot(
+        Long id,
+        String email,
+        String firstName,
+        String lastName,
+        String phoneNumber,
+        Gender gender,
+        Major major,
+        AcademicYear academicYear,
+        String interests,
+        AccountStatus status,
+        Set<Role> roles
+) {
+
+    public static MemberSnapshot of(Member member) {
+        return new MemberSnapshot(member.getId(), member.getEmail(), member.getFirstName(), member.getLastName(),
+                member.getPhoneNumber(), member.getGender(), member.getMajor(), member.getAcademicYear(),
+                member.getInterests(), member.getStatus(), Set.copyOf(member.getRoles()));
+    }
+
+    // detached and without the password, so it must never be saved
+    public Member toMember() {
+        return new Member(id, email, firstName, lastName, phoneNumber, gender, major, academicYear, interests, status,
+                new HashSet<>(roles), null);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.authservice.DTO;
+
+import com.example.authservice.enums.AcademicYear;
+import com.example.authservice.enums.AccountStatus;
+import com.example.authservice.enums.Major;
+
+public record MemberSummary(
+        Long id,
+        String email,
+        String firstName,
+        String lastName,
+        String phoneNumber,
+        Major major,
+        AcademicYear academicYear,
+        AccountStatus status
+) {}
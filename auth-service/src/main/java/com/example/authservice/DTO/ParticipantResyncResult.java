@@ -0,0 +1,11 @@
+package com.example.authservice.DTO;
+
+/**
+ * Outcome of one resync run; {@code resumedAfter} is the checkpoint it continued from (0 for a full run).
+ */
+public record ParticipantResyncResult(
+        long sent,
+        long resumedAfter,
+        long lastId,
+        long elapsedMillis
+) {}
@@ -0,0 +1,52 @@
+package com.example.authservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Wraps Hikari pools in a {@link BulkheadDataSource}. The limits default to the pool's maximum size, so the
+ * bulkhead and the pool are sized from one setting. {@code db.bulkhead.enabled} is read at runtime rather than
+ * through a conditional bean, which would be frozen at build time by AOT processing.
+ */
+@Configuration(proxyBeanMethods = false)
+public class DatabaseBulkheadConfig {
+
+    @Bean
+    static BeanPostProcessor databaseBulkheadPostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof HikariDataSource pool ? bulkhead(pool, environment) : bean;
+            }
+        };
+    }
+
+    @Bean
+    MeterBinder databaseBulkheadMetrics(DataSource dataSource) {
+        return registry -> {
+            BulkheadDataSource bulkhead = DataSourceUnwrapper.unwrap(dataSource, BulkheadDataSource.class);
+            if (bulkhead != null) {
+                bulkhead.bindTo(registry);
+            }
+        };
+    }
+
+    static DataSource bulkhead(HikariDataSource pool, Environment environment) {
+        if (!environment.getProperty("db.bulkhead.enabled", Boolean.class, true)) {
+            return pool;
+        }
+        int poolSize = pool.getMaximumPoolSize();
+        return new BulkheadDataSource(pool.getPoolName(), pool,
+                environment.getProperty("db.bulkhead.max-concurrent", Integer.class, poolSize),
+                environment.getProperty("db.bulkhead.max-waiting", Integer.class, poolSize * 20),
+                environment.getProperty("db.bulkhead.max-wait", Duration.class, Duration.ofMillis(500)));
+    }
+}
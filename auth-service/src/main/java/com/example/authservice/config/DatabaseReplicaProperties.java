@@ -0,0 +1,37 @@
+package com.example.authservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Read replicas for read-only transactions. Credentials default to the primary's; with no {@code urls} every
+ * transaction runs on the primary.
+ */
+@ConfigurationProperties(prefix = "db.replica")
+public record DatabaseReplicaProperties(
+        @DefaultValue
+        List<String> urls,
+
+        String username,
+
+        String password,
+
+        @DefaultValue("10")
+        int maximumPoolSize,
+
+        // a replica further behind than this is skipped until it catches up
+        @DefaultValue("2s")
+        Duration maxLag,
+
+        // after a member writes, their reads stay on the primary this long
+        @DefaultValue("5s")
+        Duration readYourWrites
+) {
+
+    public List<String> urls() {
+        return urls.stream().filter(url -> !url.isBlank()).toList();
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.authservice.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Member ids used to come from an IDENTITY column. Before the server accepts requests, move member_seq past the
+ * highest existing id so pooled allocation (allocationSize 50) never hands out an id that is already taken.
+ * A lifecycle phase below the web server's (rather than a singleton callback) keeps the database out of context
+ * refresh, so the CDS training run can refresh the context without one.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MemberSequenceAligner implements SmartLifecycle {
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        // setval only when the sequence is behind, so ordinary restarts leave it alone
+        List<Long> moved = jdbcTemplate.queryForList(
+                "select setval('member_seq', m.max_id) from (select max(id) as max_id from member) m " +
+                        "where m.max_id > (select last_value from member_seq)", Long.class);
+        if (!moved.isEmpty()) {
+            log.info("member_seq moved to {}", moved.get(0));
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.authservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the auto-configured pool with the primary pool behind a {@link LazyConnectionDataSourceProxy}. The proxy
+ * defers checkout until the first statement, by which time the transaction manager has marked read-only
+ * transactions, and sends those to {@link ReadReplicas}. Without {@code db.replica.urls} the proxy only adds lazy
+ * checkout in front of the primary.
+ */
+@Configuration(proxyBeanMethods = false)
+@Slf4j
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setPoolName("primary");
+        return pool;
+    }
+
+    @Bean
+    ReadReplicas readReplicas(@Qualifier("primaryDataSource") DataSource primary, DataSourceProperties dataSourceProperties,
+                              DatabaseReplicaProperties properties, ReadYourWrites readYourWrites,
+                              MeterRegistry meterRegistry, Environment environment) {
+        List<ReadReplicas.Replica> replicas = new ArrayList<>();
+        List<String> urls = properties.urls();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource pool = dataSourceProperties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(urls.get(i))
+                    .username(properties.username() != null ? properties.username() : dataSourceProperties.determineUsername())
+                    .password(properties.password() != null ? properties.password() : dataSourceProperties.determinePassword())
+                    .build();
+            pool.setPoolName("replica-" + (i + 1));
+            pool.setMaximumPoolSize(properties.maximumPoolSize());
+            pool.setConnectionTimeout(environment.getProperty("spring.datasource.hikari.connection-timeout", Long.class, 30_000L));
+            pool.setReadOnly(true);
+            pool.setMetricRegistry(meterRegistry);
+
+            DataSource dataSource = DatabaseBulkheadConfig.bulkhead(pool, environment);
+            if (dataSource instanceof BulkheadDataSource bulkhead) {
+                bulkhead.bindTo(meterRegistry);
+            }
+            replicas.add(new ReadReplicas.Replica(pool, dataSource));
+            log.info("routing read-only transactions to replica {} at {}", pool.getPoolName(), urls.get(i));
+        }
+        return new ReadReplicas(primary, replicas, readYourWrites, properties, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary, ReadReplicas readReplicas) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        if (readReplicas.isEnabled()) {
+            dataSource.setReadOnlyDataSource(readReplicas);
+        }
+        return dataSource;
+    }
+}
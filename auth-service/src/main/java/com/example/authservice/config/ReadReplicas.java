@@ -0,0 +1,158 @@
+package com.example.authservice.config;
+
+import com.example.authservice.exceptions.DatabaseBusyException;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read-only side of the routing data source: hands out a connection from the next healthy replica, or from the
+ * primary when the caller must read its own writes, no replica is healthy, or every replica fails to connect.
+ * Replicas are probed on a schedule; an unreachable replica or one lagging more than {@code max-lag} is skipped
+ * until a later probe finds it healthy again.
+ */
+@Slf4j
+public class ReadReplicas extends AbstractDataSource {
+
+    // 0 on a primary or a caught-up standby, replay delay in ms on a standby that is still applying WAL
+    private static final String LAG_QUERY = "select case when not pg_is_in_recovery() " +
+            "or pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0 " +
+            "else cast(extract(epoch from now() - pg_last_xact_replay_timestamp()) * 1000 as bigint) end";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReadYourWrites readYourWrites;
+    private final long maxLagMillis;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final Counter replicaReads;
+    private final Counter readYourWritesReads;
+    private final Counter fallbackReads;
+
+    ReadReplicas(DataSource primary, List<Replica> replicas, ReadYourWrites readYourWrites,
+                 DatabaseReplicaProperties properties, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.readYourWrites = readYourWrites;
+        this.maxLagMillis = properties.maxLag().toMillis();
+        this.replicaReads = routedReads(meterRegistry, "replica", "replica");
+        this.readYourWritesReads = routedReads(meterRegistry, "primary", "read_your_writes");
+        this.fallbackReads = routedReads(meterRegistry, "primary", "no_healthy_replica");
+        for (Replica replica : replicas) {
+            Gauge.builder("db.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+            Gauge.builder("db.replica.lag", replica, r -> r.lagMillis)
+                    .tag("replica", replica.name)
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+        }
+    }
+
+    boolean isEnabled() {
+        return !replicas.isEmpty();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (replicas.isEmpty()) {
+            return primary.getConnection();
+        }
+        if (readYourWrites.primaryRequired()) {
+            readYourWritesReads.increment();
+            return primary.getConnection();
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                replicaReads.increment();
+                return connection;
+            } catch (SQLException e) {
+                markDown(replica, e.getMessage());
+            } catch (DatabaseBusyException e) {
+                log.debug("replica {} is saturated: {}", replica.name, e.getMessage());
+            }
+        }
+        fallbackReads.increment();
+        return primary.getConnection();
+    }
+
+    // replica credentials come from db.replica.*, so explicit credentials can only mean the primary
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    @Scheduled(fixedDelayString = "${db.replica.health-check-interval:5s}")
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+                resultSet.next();
+                replica.lagMillis = resultSet.getLong(1);
+                if (replica.lagMillis > maxLagMillis) {
+                    markDown(replica, "lagging " + replica.lagMillis + " ms behind the primary");
+                } else if (!replica.healthy) {
+                    replica.healthy = true;
+                    log.info("replica {} is serving reads", replica.name);
+                }
+            } catch (SQLException | RuntimeException e) {
+                markDown(replica, e.getMessage());
+            }
+        }
+    }
+
+    public void close() {
+        for (Replica replica : replicas) {
+            replica.pool.close();
+        }
+    }
+
+    private void markDown(Replica replica, String reason) {
+        if (replica.healthy) {
+            replica.healthy = false;
+            log.warn("replica {} taken out of rotation: {}", replica.name, reason);
+        }
+    }
+
+    private static Counter routedReads(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("db.routing.reads")
+                .description("Read-only transactions by the data source that served them")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    static final class Replica {
+
+        private final String name;
+        private final HikariDataSource pool;
+        private final DataSource dataSource;
+        private volatile boolean healthy;
+        private volatile long lagMillis;
+
+        Replica(HikariDataSource pool, DataSource dataSource) {
+            this.name = pool.getPoolName();
+            this.pool = pool;
+            this.dataSource = dataSource;
+        }
+    }
+}
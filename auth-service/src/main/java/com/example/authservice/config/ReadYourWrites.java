@@ -0,0 +1,77 @@
+package com.example.authservice.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.util.function.Supplier;
+
+/**
+ * Remembers which members wrote recently so their reads go to the primary until replicas have caught up. The
+ * subject of a read is the authenticated user, or the email bound with {@link #actingAs} where nobody is logged in
+ * yet (login itself). Committed read-write transactions of an authenticated user are recorded automatically; writes
+ * made on someone else's behalf (registration, activation) call {@link #recordWrite}.
+ */
+@Component
+public class ReadYourWrites implements TransactionExecutionListener {
+
+    private static final ThreadLocal<String> SUBJECT = new ThreadLocal<>();
+
+    private final Cache<String, Boolean> recentWriters;
+    private final boolean enabled;
+
+    public ReadYourWrites(DatabaseReplicaProperties properties) {
+        this.enabled = !properties.urls().isEmpty();
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(properties.readYourWrites())
+                .maximumSize(100_000)
+                .build();
+    }
+
+    public void recordWrite(String subject) {
+        if (enabled && subject != null) {
+            recentWriters.put(subject, Boolean.TRUE);
+        }
+    }
+
+    public boolean primaryRequired() {
+        String subject = currentSubject();
+        return subject != null && recentWriters.getIfPresent(subject) != null;
+    }
+
+    public <T> T actingAs(String subject, Supplier<T> action) {
+        String previous = SUBJECT.get();
+        SUBJECT.set(subject);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                SUBJECT.remove();
+            } else {
+                SUBJECT.set(previous);
+            }
+        }
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure == null && transaction.isNewTransaction() && !transaction.isReadOnly()) {
+            recordWrite(currentSubject());
+        }
+    }
+
+    private static String currentSubject() {
+        String subject = SUBJECT.get();
+        if (subject != null) {
+            return subject;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null || authentication instanceof AnonymousAuthenticationToken
+                ? null : authentication.getName();
+    }
+}
@@ -1,29 +1,38 @@
 package com.example.authservice.config;
 
+import com.example.authservice.serialization.PayloadCodec;
+import com.example.authservice.serialization.PayloadRedisSerializer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 @Configuration
 public class RedisConfig {
 
     @Bean
-    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
+    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory, PayloadCodec payloadCodec) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
 
         // Use String serializer for keys
         template.setKeySerializer(new StringRedisSerializer());
 
-        // Use JSON serializer for values
-        Jackson2JsonRedisSerializer<Object> serializer = new Jackson2JsonRedisSerializer<>(Object.class);
-        template.setValueSerializer(serializer);
+        // registered payload types follow redis.payload.format, everything else stays JSON; reads accept both
+        template.setValueSerializer(new PayloadRedisSerializer(payloadCodec));
 
         return template;
     }
+
+    // shared by every pub/sub subscriber in the service
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
 }
 
 //YES this part is vibe coded I'm not gonna fucking dabble with spring docs at fucking 5AM TF
\ No newline at end of file
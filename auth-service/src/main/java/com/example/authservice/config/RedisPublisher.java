@@ -1,28 +1,59 @@
 package com.example.authservice.config;
 
-import com.example.authservice.DTO.ParticipantDTO;
+import com.example.authservice.entity.OutboxEvent;
+import com.example.authservice.serialization.PayloadFormat;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.listener.ChannelTopic;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
 @Service
 @Slf4j
 public class RedisPublisher {
 
+    public static final String PARTICIPANT_CHANNEL = "channel-participant";
+    // same events encoded with PayloadCodec, for readers that have moved off JSON
+    public static final String PARTICIPANT_BINARY_CHANNEL = "channel-participant.bin";
+
     private final RedisTemplate<String, Object> redisTemplate;
-    private ChannelTopic topic;
+    private final Timer publishTimer;
 
     @Autowired
-    public RedisPublisher(RedisTemplate<String, Object> redisTemplate) {
+    public RedisPublisher(RedisTemplate<String, Object> redisTemplate, MeterRegistry meterRegistry) {
         this.redisTemplate = redisTemplate;
-        this.topic = new ChannelTopic("channel-participant");
+        this.publishTimer = Timer.builder("redis.publish")
+                .description("Pipelined publish of one outbox batch")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 
-    public void publish(ParticipantDTO message) {
-        redisTemplate.convertAndSend(topic.getTopic(), message);
+    /**
+     * Publishes already serialized outbox payloads in a single pipelined round trip, in list order.
+     */
+    public void publishAll(List<OutboxEvent> events) {
+        Timer.Sample sample = Timer.start();
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (OutboxEvent event : events) {
+                    connection.publish(event.getChannel().getBytes(StandardCharsets.UTF_8), payload(event));
+                }
+                return null;
+            });
+        } finally {
+            sample.stop(publishTimer);
+        }
     }
 
-
+    private static byte[] payload(OutboxEvent event) {
+        return event.getFormat() == PayloadFormat.BINARY
+                ? Base64.getDecoder().decode(event.getPayload())
+                : event.getPayload().getBytes(StandardCharsets.UTF_8);
+    }
 }
\ No newline at end of file
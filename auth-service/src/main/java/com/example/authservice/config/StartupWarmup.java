@@ -0,0 +1,50 @@
+package com.example.authservice.config;
+
+import com.example.authservice.repository.MemberRepository;
+import com.example.authservice.security.jwt.JwtUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Runs the login path once (JWT sign/verify, a password hash, a credentials query) before the instance reports
+ * ready. Boot only flips readiness to ACCEPTING_TRAFFIC after the ApplicationReadyEvent listeners return, so the
+ * first real login does not pay for class loading, JIT warm-up and pool fill.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StartupWarmup {
+
+    private static final int JWT_ROUNDS = 200;
+
+    private final JwtUtil jwtUtil;
+    private final PasswordEncoder passwordEncoder;
+    private final MemberRepository memberRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void warmUp() {
+        long startedAt = System.nanoTime();
+        try {
+            var user = User.withUsername("warmup@localhost").password("unused").authorities("USER").build();
+            for (int i = 0; i < JWT_ROUNDS; i++) {
+                jwtUtil.verify(jwtUtil.generateToken(user));
+            }
+            passwordEncoder.matches("warmup", passwordEncoder.encode("warmup"));
+            memberRepository.findCredentialsByEmail("warmup@localhost");
+        } catch (RuntimeException e) {
+            log.warn("startup warm-up incomplete: {}", e.getMessage());
+        }
+        log.info("warm-up took {} ms, ready {} ms after JVM start",
+                (System.nanoTime() - startedAt) / 1_000_000, ManagementFactory.getRuntimeMXBean().getUptime());
+    }
+}
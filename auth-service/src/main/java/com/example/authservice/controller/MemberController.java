@@ -1,21 +1,37 @@
 package com.example.authservice.controller;
 
 import com.example.authservice.DTO.*;
+import com.example.authservice.enums.AcademicYear;
+import com.example.authservice.enums.AccountStatus;
+import com.example.authservice.enums.Major;
+import com.example.authservice.service.MemberImportService;
 import com.example.authservice.service.MemberService;
+import com.example.authservice.service.ParticipantResync;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/v1/auth")
 @RequiredArgsConstructor
 public class MemberController {
 
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
     private final MemberService memberService;
+    private final MemberImportService memberImportService;
+    private final ParticipantResync participantResync;
 
     @PostMapping("/authenticate")
     public ResponseEntity<LoginResponse> signIn(@Valid @RequestBody LoginDTO request) {
@@ -35,6 +51,66 @@ public class MemberController {
         return ResponseEntity.ok("user : " + memberService.activateUserAccount(id) + " account's has been activated");
     }
 
+    @PostMapping("/logout")
+    @SecurityRequirement(name = "bearerAuth")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization) {
+        memberService.logout(authorization.substring("Bearer ".length()));
+    }
+
+    @PutMapping("/revoke-sessions/{id}")
+    @SecurityRequirement(name = "bearerAuth")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<String> revokeSessions(@PathVariable Long id) {
+        return ResponseEntity.ok("user : " + memberService.revokeSessions(id) + " sessions have been revoked");
+    }
+
+    @PostMapping("/activate-accounts")
+    @SecurityRequirement(name = "bearerAuth")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<BulkActivationResponse> activateAccounts(@Valid @RequestBody BulkActivationRequest request) {
+        return ResponseEntity.ok(memberService.activateUserAccounts(request));
+    }
+
+    // replays every activated member into the participant stream; restart=true ignores an unfinished run's checkpoint
+    @PostMapping("/participants/resync")
+    @SecurityRequirement(name = "bearerAuth")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<ParticipantResyncResult> resyncParticipants(@RequestParam(defaultValue = "false") boolean restart) {
+        return ResponseEntity.ok(participantResync.resync(restart));
+    }
+
+    @GetMapping("/members")
+    @SecurityRequirement(name = "bearerAuth")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<MemberPage> listMembers(@RequestParam(required = false) AccountStatus status,
+                                                  @RequestParam(required = false) Major major,
+                                                  @RequestParam(required = false) AcademicYear academicYear,
+                                                  @RequestParam(required = false) Long after,
+                                                  @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(memberService.listMembers(new MemberFilter(status, major, academicYear), after, size));
+    }
+
+    @GetMapping("/members/search")
+    @SecurityRequirement(name = "bearerAuth")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<List<InterestMatch>> searchByInterests(@RequestParam String q,
+                                                                 @RequestParam(defaultValue = "false") boolean activeOnly,
+                                                                 @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(memberService.searchByInterests(q, activeOnly, limit));
+    }
+
+    // rows are reported as NDJSON while the upload is still being read, hence the raw servlet streams
+    @PostMapping(value = "/import-members", consumes = {"text/csv", "application/x-ndjson"}, produces = "application/x-ndjson")
+    @SecurityRequirement(name = "bearerAuth")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public void importMembers(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        MemberImportService.Format format = MediaType.parseMediaType(request.getContentType())
+                .isCompatibleWith(TEXT_CSV) ? MemberImportService.Format.CSV : MemberImportService.Format.NDJSON;
+        response.setContentType("application/x-ndjson");
+        memberImportService.importMembers(request.getInputStream(), format, response.getOutputStream());
+    }
+
     @PostMapping("/health")
     public ResponseEntity<String> healthCheck() {
         return ResponseEntity.ok("authentication service status : ✅");
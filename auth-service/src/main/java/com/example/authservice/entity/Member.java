@@ -11,12 +11,17 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "member")
+@Table(name = "member", indexes = {
+        @Index(name = "idx_member_status_id", columnList = "status, id"),
+        @Index(name = "idx_member_major_year_id", columnList = "major, academic_year, id")
+})
 @Builder
 public class Member {
 
+    // pooled sequence (not IDENTITY) so Hibernate can batch inserts; aligned with existing rows by MemberSequenceAligner
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "member_seq")
+    @SequenceGenerator(name = "member_seq", sequenceName = "member_seq", allocationSize = 50)
     private Long id;
 
     @Email(message = "Invalid email format")
@@ -53,6 +58,7 @@ public class Member {
     private AccountStatus status;
 
     @Column(nullable = false, length = 150)
+    @Convert(converter = RoleSetConverter.class)
     @JsonIgnore
     private Set<Role> roles;
 
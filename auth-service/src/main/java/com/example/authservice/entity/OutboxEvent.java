@@ -0,0 +1,50 @@
+package com.example.authservice.entity;
+
+import com.example.authservice.serialization.PayloadFormat;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * A Redis message written in the same transaction as the change it describes and published later by the outbox
+ * relay. Rows are deleted once published.
+ */
+@Entity
+@Table(name = "outbox_event")
+@Builder
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq")
+    @SequenceGenerator(name = "outbox_event_seq", sequenceName = "outbox_event_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String channel;
+
+    @Column(nullable = false)
+    private Long memberId;
+
+    // BINARY payloads are stored base64-encoded; null (rows written before formats existed) means JSON
+    @Column(nullable = false, columnDefinition = "text")
+    private String payload;
+
+    @Column(length = 10)
+    @Enumerated(EnumType.STRING)
+    private PayloadFormat format;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private int attempts;
+}
@@ -0,0 +1,68 @@
+package com.example.authservice.entity;
+
+import com.example.authservice.enums.Role;
+import com.example.authservice.security.RoleAuthorities;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.Set;
+
+/**
+ * Stores {@code Member.roles} as a bitmask ({@code ADMIN = 1, USER = 2}) written as digits into the existing
+ * {@code varchar(150)} column, and reads it back as one of the shared immutable role sets. Rows written before the
+ * mask keep their role list form ({@code "{ADMIN,USER}"}, {@code "[0, 1]"}, ...) and are read as well; they switch to
+ * the mask the next time the member is saved.
+ */
+@Converter
+public class RoleSetConverter implements AttributeConverter<Set<Role>, String> {
+
+    private static final Role[] ROLES = Role.values();
+
+    @Override
+    public String convertToDatabaseColumn(Set<Role> roles) {
+        return Integer.toString(roles == null ? 0 : RoleAuthorities.mask(roles));
+    }
+
+    @Override
+    public Set<Role> convertToEntityAttribute(String value) {
+        if (value == null || value.isBlank()) {
+            return RoleAuthorities.roles(0);
+        }
+        String trimmed = value.strip();
+        if (isDigits(trimmed)) {
+            return RoleAuthorities.roles(Integer.parseInt(trimmed));
+        }
+        return RoleAuthorities.roles(legacyMask(trimmed));
+    }
+
+    private static int legacyMask(String value) {
+        int mask = 0;
+        for (String token : value.split("[\\[\\]{}(),;\\s\"']+")) {
+            if (token.isEmpty()) {
+                continue;
+            }
+            Role role = isDigits(token) ? ordinal(token) : Role.fromAuthority(token.toUpperCase());
+            if (role != null) {
+                mask |= role.mask();
+            }
+        }
+        return mask;
+    }
+
+    private static Role ordinal(String token) {
+        int ordinal = Integer.parseInt(token);
+        return ordinal < ROLES.length ? ROLES[ordinal] : null;
+    }
+
+    private static boolean isDigits(String value) {
+        if (value.isEmpty() || value.length() > 9) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (!Character.isDigit(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
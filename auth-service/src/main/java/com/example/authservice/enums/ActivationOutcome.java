@@ -0,0 +1,7 @@
+package com.example.authservice.enums;
+
+public enum ActivationOutcome {
+    ACTIVATED,
+    ALREADY_ACTIVE,
+    NOT_FOUND
+}
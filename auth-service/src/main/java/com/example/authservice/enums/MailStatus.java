@@ -0,0 +1,6 @@
+package com.example.authservice.enums;
+
+public enum MailStatus {
+    PENDING,
+    DEAD
+}
@@ -1,6 +1,28 @@
 package com.example.authservice.enums;
 
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
 public enum Role {
     ADMIN,
-    USER
+    USER;
+
+    private final GrantedAuthority authority = new SimpleGrantedAuthority(name());
+
+    // shared instance, so resolving authorities never allocates
+    public GrantedAuthority authority() {
+        return authority;
+    }
+
+    public int mask() {
+        return 1 << ordinal();
+    }
+
+    public static Role fromAuthority(String authority) {
+        return switch (authority) {
+            case "ADMIN" -> ADMIN;
+            case "USER" -> USER;
+            default -> null;
+        };
+    }
 }
@@ -1,7 +0,0 @@
-package com.example.authservice.exceptions;
-
-public class EmailSendException extends RuntimeException {
-    public EmailSendException(String message) {
-        super(message);
-    }
-}
@@ -0,0 +1,11 @@
+package com.example.authservice.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ResyncInProgressException extends RuntimeException {
+    public ResyncInProgressException(String message) {
+        super(message);
+    }
+}
@@ -1,16 +1,26 @@
 package com.example.authservice.mail;
 
-import com.example.authservice.exceptions.EmailSendException;
+import com.example.authservice.entity.OutboundEmail;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ClassPathResource;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
-import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 
 @Service
 @Slf4j
@@ -19,24 +29,78 @@ public class EmailService {
     @Autowired
     private JavaMailSender mailSender;
 
+    @Autowired
+    private InlineLogo inlineLogo;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Value("${spring.mail.username}")
     private String fromEmail;
 
-    public void setMailSender(String to, String subject, String text) {
+    private Timer batchTimer;
+    private Counter sentCounter;
+    private Counter failedCounter;
+
+    @PostConstruct
+    void registerMeters() {
+        batchTimer = Timer.builder("mail.smtp.send")
+                .description("One SMTP session delivering a batch of queued emails")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        sentCounter = Counter.builder("mail.smtp.messages").tag("result", "sent").register(meterRegistry);
+        failedCounter = Counter.builder("mail.smtp.messages").tag("result", "failed").register(meterRegistry);
+    }
+
+    /**
+     * Sends the whole batch over a single SMTP connection.
+     *
+     * @return the error message of every email that was not sent, keyed by its id
+     */
+    public Map<Long, String> sendBatch(List<OutboundEmail> emails) {
+        Map<Long, String> failures = new HashMap<>();
+        Map<MimeMessage, Long> ids = new IdentityHashMap<>();
+        List<MimeMessage> messages = new ArrayList<>(emails.size());
+        for (OutboundEmail email : emails) {
+            try {
+                MimeMessage message = createMessage(email.getRecipient(), email.getSubject(), email.getBody());
+                ids.put(message, email.getId());
+                messages.add(message);
+            } catch (MessagingException e) {
+                failures.put(email.getId(), e.getMessage());
+            }
+        }
+        if (messages.isEmpty()) {
+            return failures;
+        }
+
+        Timer.Sample sample = Timer.start();
         try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-            helper.setFrom(fromEmail);
-            helper.setTo(to);
-            helper.setSubject(subject);
-            helper.setText(text, true);
-            helper.addInline("AIS.png", new ClassPathResource("images/AIS.png"));
-
-            mailSender.send(message);
-            log.info("Simple email sent successfully to {}", to);
-        } catch (Exception e) {
-            log.error("Failed to send email to {}: {}", to, e.getMessage());
-            throw new EmailSendException("Failed to send email");
+            mailSender.send(messages.toArray(MimeMessage[]::new));
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                ids.values().forEach(id -> failures.put(id, e.getMessage()));
+            }
+            e.getFailedMessages().forEach((message, cause) -> failures.put(ids.get(message), cause.getMessage()));
+        } catch (MailException e) {
+            ids.values().forEach(id -> failures.put(id, e.getMessage()));
+        } finally {
+            sample.stop(batchTimer);
         }
+        sentCounter.increment(emails.size() - failures.size());
+        failedCounter.increment(failures.size());
+        log.debug("sent {} of {} queued emails", emails.size() - failures.size(), emails.size());
+        return failures;
+    }
+
+    private MimeMessage createMessage(String to, String subject, String text) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+        helper.setFrom(fromEmail);
+        helper.setTo(to);
+        helper.setSubject(subject);
+        helper.setText(text, true);
+        helper.getMimeMultipart().addBodyPart(inlineLogo.newPart());
+        return message;
     }
 }
@@ -0,0 +1,73 @@
+package com.example.authservice.mail;
+
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A template parsed once into static segments and named slots. {@code {{name}}} slots are HTML-escaped on render,
+ * {@code {{{name}}}} slots are inserted as-is and are only meant for trusted markup.
+ */
+final class HtmlTemplate {
+
+    private final String[] segments;
+    private final String[] slots;
+    private final boolean[] raw;
+    private final int staticLength;
+
+    private HtmlTemplate(List<String> segments, List<String> slots, List<Boolean> raw) {
+        this.segments = segments.toArray(String[]::new);
+        this.slots = slots.toArray(String[]::new);
+        this.raw = new boolean[raw.size()];
+        for (int i = 0; i < this.raw.length; i++) {
+            this.raw[i] = raw.get(i);
+        }
+        int length = 0;
+        for (String segment : this.segments) {
+            length += segment.length();
+        }
+        this.staticLength = length;
+    }
+
+    static HtmlTemplate compile(String source) {
+        List<String> segments = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+        List<Boolean> raw = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            int open = source.indexOf("{{", position);
+            if (open < 0) {
+                break;
+            }
+            boolean triple = source.startsWith("{{{", open);
+            String close = triple ? "}}}" : "}}";
+            int end = source.indexOf(close, open);
+            if (end < 0) {
+                throw new IllegalArgumentException("Unclosed template slot at offset " + open);
+            }
+            segments.add(source.substring(position, open));
+            slots.add(source.substring(open + (triple ? 3 : 2), end).trim());
+            raw.add(triple);
+            position = end + close.length();
+        }
+        segments.add(source.substring(position));
+        return new HtmlTemplate(segments, slots, raw);
+    }
+
+    /**
+     * Missing values render as empty strings.
+     */
+    String render(Map<String, String> values) {
+        StringBuilder html = new StringBuilder(staticLength + 64 * slots.length);
+        for (int i = 0; i < slots.length; i++) {
+            html.append(segments[i]);
+            String value = values.get(slots[i]);
+            if (value != null) {
+                html.append(raw[i] ? value : HtmlUtils.htmlEscape(value));
+            }
+        }
+        return html.append(segments[slots.length]).toString();
+    }
+}
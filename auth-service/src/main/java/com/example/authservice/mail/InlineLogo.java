@@ -0,0 +1,42 @@
+package com.example.authservice.mail;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.InternetHeaders;
+import jakarta.mail.internet.MimeBodyPart;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Base64;
+
+/**
+ * The club logo referenced as {@code cid:AIS.png}, read and base64-encoded once. Parts built from the pre-encoded
+ * bytes are written to the wire as-is, so every recipient only costs a small header copy.
+ */
+@Component
+public class InlineLogo {
+
+    static final String CONTENT_ID = "AIS.png";
+
+    private final byte[] encoded;
+
+    public InlineLogo() {
+        try (InputStream in = new ClassPathResource("images/" + CONTENT_ID).getInputStream()) {
+            this.encoded = Base64.getMimeEncoder().encode(in.readAllBytes());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot load inline logo", e);
+        }
+    }
+
+    // headers are per part because JavaMail may update them while saving the message
+    public MimeBodyPart newPart() throws MessagingException {
+        InternetHeaders headers = new InternetHeaders();
+        headers.addHeader("Content-Type", "image/png");
+        headers.addHeader("Content-Transfer-Encoding", "base64");
+        headers.addHeader("Content-ID", "<" + CONTENT_ID + ">");
+        headers.addHeader("Content-Disposition", "inline; filename=\"" + CONTENT_ID + "\"");
+        return new MimeBodyPart(headers, encoded);
+    }
+}
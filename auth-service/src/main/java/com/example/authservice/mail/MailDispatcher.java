@@ -0,0 +1,187 @@
+package com.example.authservice.mail;
+
+import com.example.authservice.entity.OutboundEmail;
+import com.example.authservice.enums.MailStatus;
+import com.example.authservice.repository.OutboundEmailRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Worker pool draining the {@code mail_outbox} table. Each worker claims a batch of due emails (leasing them so a
+ * crashed worker's batch is retried later), sends it over one SMTP connection and then deletes the sent rows or
+ * reschedules the failed ones with exponential backoff until they are dead-lettered.
+ */
+@Component
+@Slf4j
+public class MailDispatcher {
+
+    private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+
+    private final OutboundEmailRepository outboundEmailRepository;
+    private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
+    private final int workers;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Duration initialBackoff;
+
+    private ExecutorService pool;
+    private volatile boolean running;
+
+    public MailDispatcher(OutboundEmailRepository outboundEmailRepository,
+                          EmailService emailService,
+                          TransactionTemplate transactionTemplate,
+                          @Value("${mail.dispatch.workers:2}") int workers,
+                          @Value("${mail.dispatch.batch-size:20}") int batchSize,
+                          @Value("${mail.dispatch.poll-interval:1s}") Duration pollInterval,
+                          @Value("${mail.dispatch.max-attempts:8}") int maxAttempts,
+                          @Value("${mail.dispatch.lease:2m}") Duration lease,
+                          @Value("${mail.dispatch.initial-backoff:30s}") Duration initialBackoff,
+                          @Value("${spring.mail.properties.mail.smtp.connectiontimeout:0}") long connectTimeoutMillis,
+                          @Value("${spring.mail.properties.mail.smtp.writetimeout:0}") long writeTimeoutMillis,
+                          @Value("${spring.mail.properties.mail.smtp.timeout:0}") long readTimeoutMillis) {
+        this.outboundEmailRepository = outboundEmailRepository;
+        this.emailService = emailService;
+        this.transactionTemplate = transactionTemplate;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.maxAttempts = maxAttempts;
+        this.lease = lease(lease, batchSize, connectTimeoutMillis, writeTimeoutMillis, readTimeoutMillis);
+        this.initialBackoff = initialBackoff;
+    }
+
+    /**
+     * The lease must outlast the slowest batch the SMTP timeouts allow (connect, then a write and a read per message),
+     * otherwise another worker claims the rows while they are still being sent and the emails go out twice.
+     */
+    static Duration lease(Duration configured, int batchSize, long connectTimeoutMillis, long writeTimeoutMillis,
+                          long readTimeoutMillis) {
+        if (connectTimeoutMillis <= 0 || writeTimeoutMillis <= 0 || readTimeoutMillis <= 0) {
+            log.warn("SMTP timeouts are not all set, so a batch can outlast the {} mail lease", configured);
+            return configured;
+        }
+        Duration slowestBatch = Duration.ofMillis(connectTimeoutMillis + batchSize * (writeTimeoutMillis + readTimeoutMillis))
+                .plusSeconds(30);
+        if (slowestBatch.compareTo(configured) > 0) {
+            log.info("mail lease raised from {} to {} to cover a batch of {} at the SMTP timeouts", configured, slowestBatch, batchSize);
+            return slowestBatch;
+        }
+        return configured;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        pool = Executors.newFixedThreadPool(workers, Thread.ofPlatform().name("mail-dispatch-", 1).daemon().factory());
+        for (int i = 0; i < workers; i++) {
+            pool.submit(this::work);
+        }
+        log.info("mail dispatcher started with {} workers", workers);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (pool != null) {
+            pool.shutdownNow();
+            pool.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private void work() {
+        while (running) {
+            try {
+                if (dispatchBatch() == 0) {
+                    Thread.sleep(pollInterval.toMillis());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("mail dispatcher iteration failed: {}", e.getMessage());
+                try {
+                    Thread.sleep(pollInterval.toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    int dispatchBatch() {
+        List<OutboundEmail> batch = transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            List<OutboundEmail> due = outboundEmailRepository.lockDueBatch(now, batchSize);
+            for (OutboundEmail email : due) {
+                email.setAttempts(email.getAttempts() + 1);
+                email.setNextAttemptAt(now.plus(lease));
+            }
+            return due;
+        });
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, String> failures = emailService.sendBatch(batch);
+
+        List<Long> sent = new ArrayList<>(batch.size());
+        Map<Long, OutboundEmail> failed = new HashMap<>();
+        Instant now = Instant.now();
+        for (OutboundEmail email : batch) {
+            String error = failures.get(email.getId());
+            if (error == null) {
+                sent.add(email.getId());
+            } else {
+                reschedule(email, error, now);
+                failed.put(email.getId(), email);
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!sent.isEmpty()) {
+                outboundEmailRepository.deleteAllByIdInBatch(sent);
+            }
+            if (!failed.isEmpty()) {
+                // one select for the managed copies, then the updates go out as a single JDBC batch on flush
+                for (OutboundEmail managed : outboundEmailRepository.findAllById(failed.keySet())) {
+                    OutboundEmail rescheduled = failed.get(managed.getId());
+                    managed.setStatus(rescheduled.getStatus());
+                    managed.setNextAttemptAt(rescheduled.getNextAttemptAt());
+                    managed.setLastError(rescheduled.getLastError());
+                }
+            }
+        });
+        return batch.size();
+    }
+
+    private void reschedule(OutboundEmail email, String error, Instant now) {
+        email.setLastError(error.substring(0, Math.min(error.length(), 500)));
+        if (email.getAttempts() >= maxAttempts) {
+            email.setStatus(MailStatus.DEAD);
+            log.error("email {} to {} dead-lettered after {} attempts: {}", email.getId(), email.getRecipient(), email.getAttempts(), error);
+            return;
+        }
+        long backoff = Math.min(MAX_BACKOFF.toMillis(), initialBackoff.toMillis() << Math.min(email.getAttempts() - 1, 20));
+        email.setNextAttemptAt(now.plusMillis(backoff));
+        log.warn("email {} to {} failed (attempt {}), retrying in {} s: {}", email.getId(), email.getRecipient(), email.getAttempts(), backoff / 1000, error);
+    }
+}
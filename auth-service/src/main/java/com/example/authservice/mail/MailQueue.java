@@ -0,0 +1,49 @@
+package com.example.authservice.mail;
+
+import com.example.authservice.entity.OutboundEmail;
+import com.example.authservice.enums.MailStatus;
+import com.example.authservice.repository.OutboundEmailRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class MailQueue {
+
+    private final OutboundEmailRepository outboundEmailRepository;
+
+    // joins the caller's transaction, so the email only exists if the registration/activation commits
+    @Transactional
+    public void enqueue(String to, String subject, String htmlBody) {
+        outboundEmailRepository.save(pending(to, subject, htmlBody, Instant.now()));
+    }
+
+    /**
+     * Queues one email per recipient ({@code htmlBodies} is keyed by address); the rows go out as JDBC insert
+     * batches (hibernate.jdbc.batch_size).
+     */
+    @Transactional
+    public void enqueueAll(String subject, Map<String, String> htmlBodies) {
+        Instant now = Instant.now();
+        List<OutboundEmail> emails = new ArrayList<>(htmlBodies.size());
+        htmlBodies.forEach((to, htmlBody) -> emails.add(pending(to, subject, htmlBody, now)));
+        outboundEmailRepository.saveAll(emails);
+    }
+
+    private static OutboundEmail pending(String to, String subject, String htmlBody, Instant now) {
+        return OutboundEmail.builder()
+                .recipient(to)
+                .subject(subject)
+                .body(htmlBody)
+                .status(MailStatus.PENDING)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build();
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.authservice.repository;
+
+import com.example.authservice.DTO.MemberFilter;
+import com.example.authservice.DTO.MemberSummary;
+
+import java.util.List;
+
+public interface MemberDirectoryRepository {
+
+    /**
+     * Keyset page: up to {@code limit} members with {@code id > afterId} (all when null) in id order.
+     */
+    List<MemberSummary> findSummaries(MemberFilter filter, Long afterId, int limit);
+}
@@ -0,0 +1,61 @@
+package com.example.authservice.repository;
+
+import com.example.authservice.DTO.MemberFilter;
+import com.example.authservice.DTO.MemberSummary;
+import com.example.authservice.entity.Member;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Seeks on the primary key instead of using OFFSET, so every page costs the same index range scan on
+ * (status, id) or (major, academic_year, id) no matter how deep it is. Only the summary columns are selected.
+ */
+class MemberDirectoryRepositoryImpl implements MemberDirectoryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<MemberSummary> findSummaries(MemberFilter filter, Long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<MemberSummary> query = cb.createQuery(MemberSummary.class);
+        Root<Member> member = query.from(Member.class);
+
+        List<Predicate> predicates = new ArrayList<>(4);
+        if (filter.status() != null) {
+            predicates.add(cb.equal(member.get("status"), filter.status()));
+        }
+        if (filter.major() != null) {
+            predicates.add(cb.equal(member.get("major"), filter.major()));
+        }
+        if (filter.academicYear() != null) {
+            predicates.add(cb.equal(member.get("academicYear"), filter.academicYear()));
+        }
+        if (afterId != null) {
+            predicates.add(cb.greaterThan(member.<Long>get("id"), afterId));
+        }
+
+        query.select(cb.construct(MemberSummary.class,
+                        member.get("id"),
+                        member.get("email"),
+                        member.get("firstName"),
+                        member.get("lastName"),
+                        member.get("phoneNumber"),
+                        member.get("major"),
+                        member.get("academicYear"),
+                        member.get("status")))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.asc(member.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
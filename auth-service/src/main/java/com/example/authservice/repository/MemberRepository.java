@@ -1,15 +1,81 @@
 package com.example.authservice.repository;
 
+import com.example.authservice.DTO.ActivatedMember;
+import com.example.authservice.DTO.MemberCredentials;
+import com.example.authservice.DTO.MemberInterests;
+import com.example.authservice.DTO.MemberSummary;
+import com.example.authservice.DTO.ParticipantDTO;
 import com.example.authservice.entity.Member;
+import com.example.authservice.enums.AccountStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface MemberRepository extends JpaRepository<Member, Long> {
+public interface MemberRepository extends JpaRepository<Member, Long>, MemberDirectoryRepository {
 
     Optional<Member> findMemberByEmail(String email);
 
     Optional<Member> findMemberById(Long id);
+
+    @Query("select new com.example.authservice.DTO.MemberCredentials(m.id, m.email, m.password, m.roles, m.status) " +
+            "from Member m where m.email = :email")
+    Optional<MemberCredentials> findCredentialsByEmail(@Param("email") String email);
+
+    @Modifying
+    @Query("update Member m set m.password = :password where m.email = :email")
+    int updatePassword(@Param("email") String email, @Param("password") String password);
+
+    // native because JPQL has no RETURNING; this is a query (not @Modifying) since it yields a result set
+    @Query(value = "update member set status = 'ACTIVATED' where id = :id and status = 'DISABLED' " +
+            "returning id, email, first_name as \"firstName\", last_name as \"lastName\"", nativeQuery = true)
+    Optional<ActivatedMember> activateById(@Param("id") Long id);
+
+    @Query(value = "update member set status = 'ACTIVATED' where id in (:ids) and status = 'DISABLED' " +
+            "returning id, email, first_name as \"firstName\", last_name as \"lastName\"", nativeQuery = true)
+    List<ActivatedMember> activateByIds(@Param("ids") Collection<Long> ids);
+
+    @Query(value = "update member set status = 'ACTIVATED' where status = 'DISABLED' and major = :major " +
+            "and (cast(:academicYear as varchar) is null or academic_year = cast(:academicYear as varchar)) " +
+            "returning id, email, first_name as \"firstName\", last_name as \"lastName\"", nativeQuery = true)
+    List<ActivatedMember> activateByMajor(@Param("major") String major, @Param("academicYear") String academicYear);
+
+    @Query("select m.email from Member m where m.id = :id")
+    Optional<String> findEmailById(@Param("id") Long id);
+
+    @Query("select m.id from Member m where m.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select m.email from Member m where m.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("select new com.example.authservice.DTO.MemberSummary(m.id, m.email, m.firstName, m.lastName, " +
+            "m.phoneNumber, m.major, m.academicYear, m.status) from Member m where m.id in :ids")
+    List<MemberSummary> findSummariesByIds(@Param("ids") Collection<Long> ids);
+
+    // must be consumed inside a transaction; the fetch size makes the driver use a cursor instead of buffering the table
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.example.authservice.DTO.MemberInterests(m.id, m.interests, m.status) from Member m")
+    Stream<MemberInterests> streamInterests();
+
+    @Query("select new com.example.authservice.DTO.MemberInterests(m.id, m.interests, m.status) from Member m where m.id in :ids")
+    List<MemberInterests> findInterestsByIds(@Param("ids") Collection<Long> ids);
+
+    long countByStatus(AccountStatus status);
+
+    // cursor over activated members in id order, so a resync can resume after the last id it sent
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.example.authservice.DTO.ParticipantDTO(m.id, m.email) from Member m " +
+            "where m.status = com.example.authservice.enums.AccountStatus.ACTIVATED and m.id > :after order by m.id")
+    Stream<ParticipantDTO> streamActivatedParticipants(@Param("after") long after);
 }
@@ -0,0 +1,39 @@
+package com.example.authservice.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts authentication failures by reason and logs one summary line per interval instead of a line (or a stack
+ * trace) per rejected request, so scanners and stale clients cannot turn into log I/O.
+ */
+@Component
+@Slf4j
+public class AuthFailureLog {
+
+    private final Map<String, LongAdder> failures = new ConcurrentHashMap<>();
+
+    public void record(String reason) {
+        failures.computeIfAbsent(reason, r -> new LongAdder()).increment();
+    }
+
+    @Scheduled(fixedDelayString = "${security.failure-log.interval:1m}")
+    public void flush() {
+        Map<String, Long> summary = new TreeMap<>();
+        failures.forEach((reason, count) -> {
+            long value = count.sumThenReset();
+            if (value > 0) {
+                summary.put(reason, value);
+            }
+        });
+        if (!summary.isEmpty()) {
+            log.warn("authentication failures since last report: {}", summary);
+        }
+    }
+}
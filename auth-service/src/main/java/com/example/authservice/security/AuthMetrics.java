@@ -0,0 +1,86 @@
+package com.example.authservice.security;
+
+import com.example.authservice.security.jwt.JwtFailureReason;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Meters of the authentication pipeline, registered once so the per-request cost is a map lookup and a record.
+ * Also logs the time from JVM start to the first successful login.
+ */
+@Component
+@Slf4j
+public class AuthMetrics {
+
+    public enum FilterResult { ANONYMOUS, CACHE_HIT, VERIFIED, REJECTED, REVOKED, ERROR }
+
+    private final MeterRegistry meterRegistry;
+    private final Map<FilterResult, Timer> filterTimers = new EnumMap<>(FilterResult.class);
+    private final Map<JwtFailureReason, Timer> rejectedVerifyTimers = new EnumMap<>(JwtFailureReason.class);
+    private final Timer validVerifyTimer;
+    private final Map<String, Counter> loginCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> registrationCounters = new ConcurrentHashMap<>();
+    private final AtomicBoolean firstLogin = new AtomicBoolean(true);
+
+    public AuthMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (FilterResult result : FilterResult.values()) {
+            filterTimers.put(result, Timer.builder("auth.jwt.filter")
+                    .description("Time spent authenticating a request in JwtAuthenticationFilter")
+                    .tag("result", result.name().toLowerCase())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+        for (JwtFailureReason reason : JwtFailureReason.values()) {
+            rejectedVerifyTimers.put(reason, verifyTimer(reason.name().toLowerCase()));
+        }
+        this.validVerifyTimer = verifyTimer("valid");
+    }
+
+    public void recordFilter(FilterResult result, long nanos) {
+        filterTimers.get(result).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param failure null for a valid token
+     */
+    public void recordVerify(JwtFailureReason failure, long nanos) {
+        (failure == null ? validVerifyTimer : rejectedVerifyTimers.get(failure)).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void login(String outcome) {
+        loginCounters.computeIfAbsent(outcome, o -> Counter.builder("auth.login")
+                .description("Login attempts by outcome")
+                .tag("outcome", o)
+                .register(meterRegistry)).increment();
+        if ("success".equals(outcome) && firstLogin.get() && firstLogin.compareAndSet(true, false)) {
+            log.info("first successful login {} ms after JVM start", ManagementFactory.getRuntimeMXBean().getUptime());
+        }
+    }
+
+    public void registration(String outcome) {
+        registrationCounters.computeIfAbsent(outcome, o -> Counter.builder("auth.registration")
+                .description("Sign-ups by outcome")
+                .tag("outcome", o)
+                .register(meterRegistry)).increment();
+    }
+
+    private Timer verifyTimer(String outcome) {
+        return Timer.builder("auth.jwt.verify")
+                .description("JWT parse and signature verification")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.authservice.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * {@link DelegatingPasswordEncoder} that encodes with a configured target algorithm and BCrypt cost, and reports any
+ * stored hash using another algorithm or cost (higher or lower) as needing an upgrade, so it is rewritten on the
+ * next successful login. Legacy hashes stored without an {@code {id}} prefix are treated as BCrypt.
+ */
+@Slf4j
+public class CalibratedPasswordEncoder extends DelegatingPasswordEncoder {
+
+    static final int MIN_BCRYPT_COST = 10;
+    static final int MAX_BCRYPT_COST = 16;
+
+    private static final String BCRYPT = "bcrypt";
+    private static final String PBKDF2 = "pbkdf2";
+    private static final String CALIBRATION_PASSWORD = "calibration-password";
+
+    private final String targetId;
+    private final int bcryptCost;
+
+    private CalibratedPasswordEncoder(String targetId, int bcryptCost, Map<String, PasswordEncoder> encoders) {
+        super(targetId, encoders);
+        this.targetId = targetId;
+        this.bcryptCost = bcryptCost;
+        setDefaultPasswordEncoderForMatches(encoders.get(BCRYPT));
+    }
+
+    /**
+     * @param cost BCrypt log rounds, or 0 to pick the cost whose hash time on this machine is closest to
+     *             {@code targetLatency} without going over it
+     */
+    public static CalibratedPasswordEncoder create(String algorithm, int cost, Duration targetLatency) {
+        if (!BCRYPT.equals(algorithm) && !PBKDF2.equals(algorithm)) {
+            throw new IllegalStateException("Unsupported password hashing algorithm: " + algorithm);
+        }
+        int bcryptCost = cost > 0 ? cost : calibrateBcryptCost(targetLatency);
+        log.info("password hashing: algorithm={}, bcrypt cost={}", algorithm, bcryptCost);
+        return new CalibratedPasswordEncoder(algorithm, bcryptCost, Map.of(
+                BCRYPT, new BCryptPasswordEncoder(bcryptCost),
+                PBKDF2, Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8()
+        ));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String prefixEncodedPassword) {
+        if (prefixEncodedPassword == null || prefixEncodedPassword.isEmpty()) {
+            return false;
+        }
+        if (!prefixEncodedPassword.startsWith("{")) {
+            return true;
+        }
+        int end = prefixEncodedPassword.indexOf('}');
+        if (end < 0 || !targetId.equals(prefixEncodedPassword.substring(1, end))) {
+            return true;
+        }
+        if (BCRYPT.equals(targetId)) {
+            return bcryptCostOf(prefixEncodedPassword.substring(end + 1)) != bcryptCost;
+        }
+        return super.upgradeEncoding(prefixEncodedPassword);
+    }
+
+    // $2a$10$... -> 10
+    private static int bcryptCostOf(String hash) {
+        if (hash.length() < 7 || hash.charAt(0) != '$') {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(hash.substring(4, 6));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    // each extra BCrypt round doubles the work, so one timed hash at the minimum cost is enough to extrapolate
+    static int calibrateBcryptCost(Duration targetLatency) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(MIN_BCRYPT_COST);
+        String hash = probe.encode(CALIBRATION_PASSWORD);
+        long fastest = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            probe.matches(CALIBRATION_PASSWORD, hash);
+            fastest = Math.min(fastest, System.nanoTime() - start);
+        }
+
+        int cost = MIN_BCRYPT_COST;
+        long estimate = fastest;
+        while (cost < MAX_BCRYPT_COST && estimate * 2 <= targetLatency.toNanos()) {
+            estimate *= 2;
+            cost++;
+        }
+        log.info("calibrated bcrypt cost {} (~{} ms per hash, target {} ms)",
+                cost, Duration.ofNanos(estimate).toMillis(), targetLatency.toMillis());
+        return cost;
+    }
+}
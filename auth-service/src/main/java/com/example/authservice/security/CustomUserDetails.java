@@ -1,35 +1,31 @@
 package com.example.authservice.security;
 
 
-import com.example.authservice.entity.Member;
+import com.example.authservice.DTO.MemberCredentials;
+import com.example.authservice.enums.AccountStatus;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
-import java.util.stream.Collectors;
 
 
 @Slf4j
-public record CustomUserDetails(Member member) implements UserDetails {
+public record CustomUserDetails(MemberCredentials credentials) implements UserDetails {
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return member.getRoles()
-                .stream()
-                .map(role -> new SimpleGrantedAuthority(role.name()))
-                .collect(Collectors.toSet());
+        return RoleAuthorities.authorities(credentials.roles());
     }
 
     @Override
     public String getPassword() {
-        return member.getPassword();
+        return credentials.password();
     }
 
     @Override
     public String getUsername() {
-        return member.getEmail();
+        return credentials.email();
     }
 
     @Override
@@ -49,6 +45,7 @@ public record CustomUserDetails(Member member) implements UserDetails {
 
     @Override
     public boolean isEnabled() {
-        return UserDetails.super.isEnabled();
+        // checked by DaoAuthenticationProvider before the password, so disabled accounts never cost a BCrypt hash
+        return credentials.status() == AccountStatus.ACTIVATED;
     }
 }
\ No newline at end of file
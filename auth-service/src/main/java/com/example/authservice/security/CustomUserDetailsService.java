@@ -1,26 +1,48 @@
 package com.example.authservice.security;
 
 
+import com.example.authservice.config.ReadYourWrites;
 import com.example.authservice.repository.MemberRepository;
+import com.example.authservice.service.MemberCache;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.DependsOn;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+@Slf4j
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final MemberRepository memberRepository;
+    private final ReadYourWrites readYourWrites;
+    private final MemberCache memberCache;
 
     @Override
     @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        return memberRepository.findMemberByEmail(username)
+        // nobody is authenticated yet, so read-your-writes routing keys on the email being logged in
+        return readYourWrites.actingAs(username, () -> memberCache.findCredentials(username))
                 .map(CustomUserDetails::new)
                 .orElseThrow(() -> new UsernameNotFoundException("There is no user available with this email: "+username));
     }
+
+    // called by DaoAuthenticationProvider after a successful login whose stored hash uses an outdated algorithm or
+    // cost, once the read-only credentials load has finished
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        memberRepository.updatePassword(user.getUsername(), newPassword);
+        readYourWrites.recordWrite(user.getUsername());
+        memberCache.evictAfterCommit(List.of(((CustomUserDetails) user).credentials().id()));
+        log.info("rehashed password of user : {}", user.getUsername());
+        return new CustomUserDetails(((CustomUserDetails) user).credentials().withPassword(newPassword));
+    }
 }
@@ -0,0 +1,75 @@
+package com.example.authservice.security;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * JSON error bodies for the responses sent before a request reaches a controller (401, 403, 429). The fixed parts
+ * are encoded once; per response only the timestamp and the path are written.
+ */
+public final class ErrorResponses {
+
+    private static final byte[] TIMESTAMP_PREFIX = "{\"timestamp\":\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] PATH_SUFFIX = "\"}".getBytes(StandardCharsets.UTF_8);
+
+    public static final ErrorResponses UNAUTHORIZED =
+            new ErrorResponses(HttpStatus.UNAUTHORIZED, "Authentication is required to access this resource");
+    public static final ErrorResponses FORBIDDEN =
+            new ErrorResponses(HttpStatus.FORBIDDEN, "Access to this resource is denied");
+    public static final ErrorResponses TOO_MANY_REQUESTS =
+            new ErrorResponses(HttpStatus.TOO_MANY_REQUESTS, "Too many attempts, retry later");
+
+    private final int status;
+    private final byte[] middle;
+
+    private ErrorResponses(HttpStatus status, String message) {
+        this.status = status.value();
+        this.middle = ("\",\"status\":" + status.value() + ",\"error\":\"" + status.getReasonPhrase()
+                + "\",\"message\":\"" + message + "\",\"path\":\"").getBytes(StandardCharsets.UTF_8);
+    }
+
+    public void write(HttpServletResponse response, String path) throws IOException {
+        byte[] timestamp = Instant.now().toString().getBytes(StandardCharsets.US_ASCII);
+        byte[] escapedPath = escape(path).getBytes(StandardCharsets.UTF_8);
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(TIMESTAMP_PREFIX.length + timestamp.length + middle.length + escapedPath.length
+                + PATH_SUFFIX.length);
+        OutputStream out = response.getOutputStream();
+        out.write(TIMESTAMP_PREFIX);
+        out.write(timestamp);
+        out.write(middle);
+        out.write(escapedPath);
+        out.write(PATH_SUFFIX);
+    }
+
+    // request paths are attacker-controlled; only quotes, backslashes and control characters need escaping
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder escaped = null;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\' || c < 0x20) {
+                if (escaped == null) {
+                    escaped = new StringBuilder(value.length() + 16).append(value, 0, i);
+                }
+                if (c == '"' || c == '\\') {
+                    escaped.append('\\').append(c);
+                } else {
+                    escaped.append(String.format("\\u%04x", (int) c));
+                }
+            } else if (escaped != null) {
+                escaped.append(c);
+            }
+        }
+        return escaped == null ? value : escaped.toString();
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.authservice.security;
+
+import com.example.authservice.enums.Role;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Role sets as bitmasks ({@link Role#mask()}), with the role set, authority list and claim names of every possible
+ * combination built once up front and shared.
+ */
+public final class RoleAuthorities {
+
+    private static final Role[] ROLES = Role.values();
+    private static final int COMBINATIONS = 1 << ROLES.length;
+    private static final int KNOWN_BITS = COMBINATIONS - 1;
+
+    private static final List<Set<Role>> ROLE_SETS = new ArrayList<>(COMBINATIONS);
+    private static final List<List<GrantedAuthority>> AUTHORITIES = new ArrayList<>(COMBINATIONS);
+    private static final List<List<String>> NAMES = new ArrayList<>(COMBINATIONS);
+
+    static {
+        for (int mask = 0; mask < COMBINATIONS; mask++) {
+            EnumSet<Role> roles = EnumSet.noneOf(Role.class);
+            List<GrantedAuthority> authorities = new ArrayList<>();
+            List<String> names = new ArrayList<>();
+            for (Role role : ROLES) {
+                if ((mask & role.mask()) != 0) {
+                    roles.add(role);
+                    authorities.add(role.authority());
+                    names.add(role.name());
+                }
+            }
+            ROLE_SETS.add(Collections.unmodifiableSet(roles));
+            AUTHORITIES.add(List.copyOf(authorities));
+            NAMES.add(List.copyOf(names));
+        }
+    }
+
+    private RoleAuthorities() {}
+
+    public static int mask(Set<Role> roles) {
+        int mask = 0;
+        for (Role role : ROLES) {
+            if (roles.contains(role)) {
+                mask |= role.mask();
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * @return the mask of the given authority names, or -1 if one of them is not a {@link Role}
+     */
+    public static int maskOfNames(List<String> names) {
+        int mask = 0;
+        for (int i = 0; i < names.size(); i++) {
+            Role role = Role.fromAuthority(names.get(i));
+            if (role == null) {
+                return -1;
+            }
+            mask |= role.mask();
+        }
+        return mask;
+    }
+
+    /**
+     * @return the mask of the given authorities, or -1 if one of them is not a {@link Role}
+     */
+    public static int maskOfAuthorities(Collection<? extends GrantedAuthority> authorities) {
+        int mask = 0;
+        for (GrantedAuthority authority : authorities) {
+            Role role = Role.fromAuthority(authority.getAuthority());
+            if (role == null) {
+                return -1;
+            }
+            mask |= role.mask();
+        }
+        return mask;
+    }
+
+    /**
+     * Bits that do not belong to a {@link Role} are ignored, as are negative masks.
+     */
+    public static Set<Role> roles(int mask) {
+        return ROLE_SETS.get(known(mask));
+    }
+
+    public static List<GrantedAuthority> authorities(int mask) {
+        return AUTHORITIES.get(known(mask));
+    }
+
+    public static List<GrantedAuthority> authorities(Set<Role> roles) {
+        return AUTHORITIES.get(mask(roles));
+    }
+
+    public static List<String> names(int mask) {
+        return NAMES.get(known(mask));
+    }
+
+    private static int known(int mask) {
+        return mask < 0 ? 0 : mask & KNOWN_BITS;
+    }
+}
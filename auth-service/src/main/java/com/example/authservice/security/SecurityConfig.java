@@ -1,9 +1,13 @@
 package com.example.authservice.security;
 
 
+import com.example.authservice.security.jwt.JwtAccessDeniedHandler;
 import com.example.authservice.security.jwt.JwtAuthEntryPoint;
 import com.example.authservice.security.jwt.JwtAuthenticationFilter;
+import com.example.authservice.security.ratelimit.LoginRateLimitFilter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.DependsOn;
@@ -14,15 +18,17 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.List;
 
 @Configuration
@@ -34,50 +40,79 @@ import java.util.List;
 @RequiredArgsConstructor
 public class SecurityConfig {
 
+    // also skipped entirely by JwtAuthenticationFilter
+    public static final String[] PUBLIC_PATHS = {
+            "/actuator/health",
+            "/actuator/health/**",
+            "/api/v1/auth/authenticate",
+            "/api/v1/auth/register",
+            "/api/v1/auth/health",
+            "/error",
+            "/.well-known/jwks.json",
+            "/v2/api-docs",
+            "/v3/api-docs/**",
+            "/swagger-ui/**",
+            "/swagger-ui.html",
+            "/swagger-resources/**",
+            "/configuration/security",
+            "/webjars/**"
+    };
+
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final LoginRateLimitFilter loginRateLimitFilter;
     private final JwtAuthEntryPoint jwtAuthEntryPoint;
+    private final JwtAccessDeniedHandler jwtAccessDeniedHandler;
     private final UserDetailsService userDetailsService;
+    private final UserDetailsPasswordService userDetailsPasswordService;
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity httpSecurity) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity httpSecurity,
+                                                   AuthenticationProvider authenticationProvider,
+                                                   @Value("${server.port:8080}") int serverPort,
+                                                   @Value("${management.server.port:-1}") int managementPort) throws Exception {
+        // actuator on its own port is open to whoever reaches that port; on the server port it is ADMIN-only
+        boolean separateManagementPort = managementPort > 0 && managementPort != serverPort;
+        RequestMatcher actuator = EndpointRequest.toAnyEndpoint();
         return httpSecurity
                 .csrf(AbstractHttpConfigurer::disable)
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .exceptionHandling(exception -> exception
                         .authenticationEntryPoint(jwtAuthEntryPoint)
+                        .accessDeniedHandler(jwtAccessDeniedHandler)
                 )
                 .authorizeHttpRequests(authorize -> authorize
-                        .requestMatchers( "/actuator/health"
-                                        , "/api/v1/auth/authenticate"
-                                        , "/api/v1/auth/register"
-                                        , "/api/v1/auth/health"
-                                        , "/v2/api-docs"
-                                        , "/v3/api-docs/**"
-                                        , "/swagger-ui/**"
-                                        , "/swagger-ui.html"
-                                        , "/swagger-resources/**"
-                                        , "/configuration/security"
-                                        , "/webjars/**"
-                        )
+                        // the management port is not routed by the proxy; only Prometheus and Consul reach it
+                        .requestMatchers(request -> separateManagementPort && request.getLocalPort() == managementPort
+                                && actuator.matches(request))
+                        .permitAll()
+                        .requestMatchers(PUBLIC_PATHS)
                         .permitAll()
+                        // in case actuator is served on the public port after all
+                        .requestMatchers(actuator)
+                        .hasAuthority("ADMIN")
                         .anyRequest()
                         .authenticated()
                 )
-                .authenticationProvider(authenticationProvider())
+                .authenticationProvider(authenticationProvider)
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(loginRateLimitFilter, JwtAuthenticationFilter.class)
                 .build();
     }
 
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
+        authProvider.setUserDetailsPasswordService(userDetailsPasswordService);
         return authProvider;
     }
 
     @Bean
-    public static PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingExecutor passwordHashingExecutor,
+                                           @Value("${security.password-hashing.algorithm:bcrypt}") String algorithm,
+                                           @Value("${security.password-hashing.cost:0}") int cost,
+                                           @Value("${security.password-hashing.target-latency:250ms}") Duration targetLatency) {
+        return new BoundedPasswordEncoder(CalibratedPasswordEncoder.create(algorithm, cost, targetLatency), passwordHashingExecutor);
     }
 
     @Bean
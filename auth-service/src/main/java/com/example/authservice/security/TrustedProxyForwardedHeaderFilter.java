@@ -0,0 +1,53 @@
+package com.example.authservice.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.ForwardedHeaderFilter;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Applies {@code Forwarded} / {@code X-Forwarded-*} headers (client address, scheme, host) only when the request
+ * comes straight from a trusted reverse proxy; from anyone else they are stripped, so a client cannot pick the
+ * address the rate limits key on. Runs ahead of every other filter.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TrustedProxyForwardedHeaderFilter extends OncePerRequestFilter {
+
+    private final List<IpAddressMatcher> trustedProxies;
+    private final ForwardedHeaderFilter applying = new ForwardedHeaderFilter();
+    private final ForwardedHeaderFilter stripping = new ForwardedHeaderFilter();
+
+    public TrustedProxyForwardedHeaderFilter(@Value("${security.trusted-proxies:127.0.0.1,::1}") List<String> trustedProxies) {
+        this.trustedProxies = trustedProxies.stream().map(String::trim).filter(s -> !s.isEmpty()).map(IpAddressMatcher::new).toList();
+        this.stripping.setRemoveOnly(true);
+    }
+
+    @Override
+    protected void doFilterInternal(@NotNull HttpServletRequest request,
+                                    @NotNull HttpServletResponse response,
+                                    @NotNull FilterChain filterChain) throws ServletException, IOException {
+        ForwardedHeaderFilter delegate = isTrusted(request.getRemoteAddr()) ? applying : stripping;
+        delegate.doFilter(request, response, filterChain);
+    }
+
+    private boolean isTrusted(String remoteAddr) {
+        for (IpAddressMatcher proxy : trustedProxies) {
+            if (proxy.matches(remoteAddr)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.authservice.security.jwt;
+
+import com.example.authservice.security.AuthFailureLog;
+import com.example.authservice.security.ErrorResponses;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.web.access.AccessDeniedHandler;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+@Component
+@RequiredArgsConstructor
+public class JwtAccessDeniedHandler implements AccessDeniedHandler {
+
+    private final AuthFailureLog authFailureLog;
+
+    @Override
+    public void handle(HttpServletRequest request,
+                       HttpServletResponse response,
+                       AccessDeniedException accessDeniedException) throws IOException, ServletException {
+        authFailureLog.record("forbidden");
+        ErrorResponses.FORBIDDEN.write(response, request.getRequestURI());
+    }
+}
@@ -1,28 +1,22 @@
 package com.example.authservice.security.jwt;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.authservice.security.AuthFailureLog;
+import com.example.authservice.security.ErrorResponses;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
-import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.DisabledException;
-import org.springframework.security.authentication.LockedException;
+import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.time.Instant;
-import java.util.Map;
 
 @Component
-@Slf4j
+@RequiredArgsConstructor
 public class JwtAuthEntryPoint implements AuthenticationEntryPoint {
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AuthFailureLog authFailureLog;
 
     public void commence(
             HttpServletRequest request,
@@ -30,20 +24,10 @@ public class JwtAuthEntryPoint implements AuthenticationEntryPoint {
             AuthenticationException authException)
             throws IOException, ServletException {
 
-        log.error("Authentication failed for request {}: {}", request.getRequestURI(), authException.getMessage(), authException);
+        // JwtAuthenticationFilter leaves the reason the bearer token was refused; no attribute means no token
+        Object reason = request.getAttribute(JwtAuthenticationFilter.FAILURE_REASON_ATTRIBUTE);
+        authFailureLog.record("unauthorized:" + (reason != null ? reason : JwtFailureReason.MISSING));
 
-        response.setStatus(HttpStatus.UNAUTHORIZED.value());
-        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-
-        Map<String, Object> errorResponse = Map.of(
-                "timestamp", Instant.now().toString(),
-                "status", HttpStatus.UNAUTHORIZED.value(),
-                "error", "Unauthorized",
-                "message", authException.getMessage(),
-                "path", request.getRequestURI()
-        );
-
-
-        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+        ErrorResponses.UNAUTHORIZED.write(response, request.getRequestURI());
     }
 }
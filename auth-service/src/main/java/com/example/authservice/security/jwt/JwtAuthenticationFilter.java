@@ -1,6 +1,9 @@
 package com.example.authservice.security.jwt;
 
+import com.example.authservice.security.AuthMetrics;
 import com.example.authservice.security.CustomUserDetailsService;
+import com.example.authservice.security.RoleAuthorities;
+import com.example.authservice.security.SecurityConfig;
 import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -10,7 +13,9 @@ import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.DependsOn;
+import org.springframework.http.server.PathContainer;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -19,8 +24,11 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -30,35 +38,93 @@ import java.util.stream.Collectors;
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    static final String FAILURE_REASON_ATTRIBUTE = JwtAuthenticationFilter.class.getName() + ".FAILURE_REASON";
+
+    private static final List<PathPattern> PUBLIC_PATHS = Arrays.stream(SecurityConfig.PUBLIC_PATHS)
+            .map(PathPatternParser.defaultInstance::parse)
+            .toList();
+
     private final JwtUtil jwtUtil;
     private final CustomUserDetailsService customUserDetailsService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenRevocations tokenRevocations;
+    private final AuthMetrics authMetrics;
+
+    // permitAll endpoints never need the caller's identity, so don't parse tokens sent to them
+    @Override
+    protected boolean shouldNotFilter(@NotNull HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        for (PathPattern pattern : PUBLIC_PATHS) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
 
     @Override
     protected void doFilterInternal(@NotNull HttpServletRequest request,
                                     @NotNull HttpServletResponse response,
                                     @NotNull FilterChain filterChain) throws ServletException, IOException {
+        long startedAt = System.nanoTime();
         String token = getJWTFromRequest(request);
+        AuthMetrics.FilterResult result = AuthMetrics.FilterResult.ANONYMOUS;
         try {
-            if(StringUtils.hasText(token) && jwtUtil.isTokenValid(token)) {
-                Claims claims = jwtUtil.getClaims(token);
-                String username = claims.getSubject();
+            if(StringUtils.hasText(token)) {
+                VerifiedTokenCache.CachedAuthentication cached = verifiedTokenCache.get(token);
+                if (cached == null) {
+                    result = authenticate(token, request);
+                } else if (tokenRevocations.isRevoked(cached.tokenId(), cached.issuedAtMillis(), cached.authentication().getName())) {
+                    request.setAttribute(FAILURE_REASON_ATTRIBUTE, JwtFailureReason.REVOKED);
+                    result = AuthMetrics.FilterResult.REVOKED;
+                } else {
+                    SecurityContextHolder.getContext().setAuthentication(cached.authentication());
+                    result = AuthMetrics.FilterResult.CACHE_HIT;
+                }
+            }
+        } catch (Exception e) {
+            result = AuthMetrics.FilterResult.ERROR;
+            log.error("Cannot set user authentication: {}", e.getMessage());
+        }
+        authMetrics.recordFilter(result, System.nanoTime() - startedAt);
+        filterChain.doFilter(request, response);
+    }
+
+    private AuthMetrics.FilterResult authenticate(String token, HttpServletRequest request) {
+        long verifyStartedAt = System.nanoTime();
+        JwtVerification verification = jwtUtil.verify(token);
+        authMetrics.recordVerify(verification.failure(), System.nanoTime() - verifyStartedAt);
+        if (!verification.isValid()) {
+            request.setAttribute(FAILURE_REASON_ATTRIBUTE, verification.failure());
+            return AuthMetrics.FilterResult.REJECTED;
+        }
+        Claims claims = verification.claims();
+        String username = claims.getSubject();
+        long issuedAt = claims.getIssuedAt() == null ? 0 : claims.getIssuedAt().getTime();
+        if (tokenRevocations.isRevoked(claims.getId(), issuedAt, username)) {
+            request.setAttribute(FAILURE_REASON_ATTRIBUTE, JwtFailureReason.REVOKED);
+            return AuthMetrics.FilterResult.REVOKED;
+        }
 
-                @SuppressWarnings("unchecked")
-                List<String> authorities = (List<String>) claims.get("authorities");
+        @SuppressWarnings("unchecked")
+        List<String> authorities = (List<String>) claims.get("authorities");
 
-                Collection<GrantedAuthority> grantedAuthorities = authorities.stream()
+        int mask = RoleAuthorities.maskOfNames(authorities);
+        Collection<GrantedAuthority> grantedAuthorities = mask >= 0
+                ? RoleAuthorities.authorities(mask)
+                : authorities.stream()
                         .map(SimpleGrantedAuthority::new)
                         .collect(Collectors.toList());
 
-                UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(username, null, grantedAuthorities);
-                authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authenticationToken);
-                log.info("is user authenticated: "+ SecurityContextHolder.getContext().getAuthentication().isAuthenticated());
-            }
-        } catch (Exception e) {
-            log.error("Cannot set user authentication: {}", e.getMessage());
+        UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(username, null, grantedAuthorities);
+        if (verifiedTokenCache.isEnabled()) {
+            // cached instances are shared between requests, so they carry no per-request details
+            verifiedTokenCache.put(token, authenticationToken, claims);
+        } else {
+            authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
         }
-        filterChain.doFilter(request, response);
+        SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+        return AuthMetrics.FilterResult.VERIFIED;
     }
 
     private String getJWTFromRequest(HttpServletRequest request) {
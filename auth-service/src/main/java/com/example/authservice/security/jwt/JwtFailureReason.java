@@ -0,0 +1,11 @@
+package com.example.authservice.security.jwt;
+
+public enum JwtFailureReason {
+    MISSING,
+    EXPIRED,
+    BAD_SIGNATURE,
+    MALFORMED,
+    UNSUPPORTED,
+    INVALID,
+    REVOKED
+}
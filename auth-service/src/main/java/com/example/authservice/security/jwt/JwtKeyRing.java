@@ -0,0 +1,244 @@
+package com.example.authservice.security.jwt;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.SecretKey;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Holds every key used to sign or verify tokens. In HS256 mode this is just the shared secret; in ES256/EdDSA
+ * mode tokens are signed with the active private key and carry its {@code kid}, and every configured public key
+ * (active and retired) is published as a JWKS so other services can verify tokens locally.
+ */
+@Component
+@Slf4j
+public class JwtKeyRing {
+
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+    private final JwtSigningAlgorithm algorithm;
+    private final SecretKey hmacKey;
+    private final boolean acceptLegacyHmac;
+    private final String activeKeyId;
+    private final PrivateKey activePrivateKey;
+    private final Map<String, PublicKey> publicKeys = new LinkedHashMap<>();
+    private final JwtParser parser;
+    private final byte[] jwks;
+    private final String jwksEtag;
+
+    public JwtKeyRing(JwtSigningProperties properties, @Value("${jwt.secret}") String jwtSecret) {
+        this.algorithm = properties.algorithm();
+        this.hmacKey = hmacKey(jwtSecret);
+        this.acceptLegacyHmac = properties.acceptLegacyHmac();
+
+        if (algorithm == JwtSigningAlgorithm.HS256) {
+            this.activeKeyId = null;
+            this.activePrivateKey = null;
+            this.parser = Jwts.parser().verifyWith(hmacKey).build();
+        } else {
+            PrivateKey privateKey = null;
+            String keyId = StringUtils.hasText(properties.activeKeyId()) ? properties.activeKeyId() : null;
+            for (JwtSigningProperties.SigningKey key : properties.keys()) {
+                publicKeys.put(key.id(), decodePublicKey(key.publicKey()));
+                if (key.id().equals(keyId)) {
+                    privateKey = decodePrivateKey(key.privateKey());
+                }
+            }
+            if (privateKey == null) {
+                if (keyId != null) {
+                    throw new IllegalStateException("No private key configured for active JWT key id " + keyId);
+                }
+                // dev fallback: tokens signed with a per-process key are not verifiable by other nodes
+                log.warn("jwt.signing.keys is empty, generating an ephemeral {} key pair", algorithm);
+                KeyPair keyPair = generateKeyPair();
+                keyId = "ephemeral-" + HexFormat.of().formatHex(sha256(keyPair.getPublic().getEncoded()), 0, 8);
+                privateKey = keyPair.getPrivate();
+                publicKeys.put(keyId, keyPair.getPublic());
+            }
+            this.activeKeyId = keyId;
+            this.activePrivateKey = privateKey;
+            this.parser = Jwts.parser().keyLocator(new KeyIdLocator()).build();
+            log.info("signing JWTs with {} key {} ({} verification keys)", algorithm, activeKeyId, publicKeys.size());
+        }
+
+        this.jwks = buildJwks();
+        this.jwksEtag = "\"" + HexFormat.of().formatHex(sha256(jwks), 0, 16) + "\"";
+    }
+
+    public JwtBuilder sign(JwtBuilder builder) {
+        if (algorithm == JwtSigningAlgorithm.HS256) {
+            return builder.signWith(hmacKey);
+        }
+        return builder
+                .header().keyId(activeKeyId).and()
+                .signWith(activePrivateKey, signatureAlgorithm());
+    }
+
+    public JwtParser parser() {
+        return parser;
+    }
+
+    public byte[] jwks() {
+        return jwks;
+    }
+
+    public String jwksEtag() {
+        return jwksEtag;
+    }
+
+    private SignatureAlgorithm signatureAlgorithm() {
+        return algorithm == JwtSigningAlgorithm.ES256 ? Jwts.SIG.ES256 : Jwts.SIG.EdDSA;
+    }
+
+    private final class KeyIdLocator extends LocatorAdapter<Key> {
+
+        @Override
+        protected Key locate(JwsHeader header) {
+            String keyId = header.getKeyId();
+            if (keyId == null) {
+                // tokens issued before the switch to asymmetric signing stay valid until they expire
+                if (acceptLegacyHmac && header.getAlgorithm() != null && header.getAlgorithm().startsWith("HS")) {
+                    return hmacKey;
+                }
+                throw new UnsupportedJwtException("JWT has no key id");
+            }
+            PublicKey key = publicKeys.get(keyId);
+            if (key == null) {
+                throw new UnsupportedJwtException("Unknown JWT key id " + keyId);
+            }
+            return key;
+        }
+    }
+
+    private byte[] buildJwks() {
+        List<Map<String, String>> keys = new ArrayList<>();
+        publicKeys.forEach((id, key) -> keys.add(toJwk(id, key)));
+        try {
+            return new ObjectMapper().writeValueAsBytes(Map.of("keys", keys));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize JWKS", e);
+        }
+    }
+
+    private Map<String, String> toJwk(String id, PublicKey key) {
+        Map<String, String> jwk = new LinkedHashMap<>();
+        if (key instanceof ECPublicKey ecKey) {
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-256");
+            jwk.put("x", BASE64_URL.encodeToString(fixedLength(ecKey.getW().getAffineX(), 32)));
+            jwk.put("y", BASE64_URL.encodeToString(fixedLength(ecKey.getW().getAffineY(), 32)));
+            jwk.put("alg", "ES256");
+        } else {
+            // X.509 SubjectPublicKeyInfo for Ed25519 ends with the raw 32-byte public key
+            byte[] encoded = key.getEncoded();
+            jwk.put("kty", "OKP");
+            jwk.put("crv", "Ed25519");
+            jwk.put("x", BASE64_URL.encodeToString(Arrays.copyOfRange(encoded, encoded.length - 32, encoded.length)));
+            jwk.put("alg", "EdDSA");
+        }
+        jwk.put("use", "sig");
+        jwk.put("kid", id);
+        return jwk;
+    }
+
+    private static byte[] fixedLength(BigInteger value, int length) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length == length) {
+            return bytes;
+        }
+        byte[] result = new byte[length];
+        int copy = Math.min(bytes.length, length);
+        System.arraycopy(bytes, bytes.length - copy, result, length - copy, copy);
+        return result;
+    }
+
+    private KeyPair generateKeyPair() {
+        try {
+            if (algorithm == JwtSigningAlgorithm.ES256) {
+                KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+                generator.initialize(new ECGenParameterSpec("secp256r1"));
+                return generator.generateKeyPair();
+            }
+            return KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot generate " + algorithm + " key pair", e);
+        }
+    }
+
+    private PrivateKey decodePrivateKey(String pem) {
+        try {
+            return keyFactory().generatePrivate(new PKCS8EncodedKeySpec(decodePem(pem)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Invalid " + algorithm + " private key", e);
+        }
+    }
+
+    private PublicKey decodePublicKey(String pem) {
+        try {
+            return keyFactory().generatePublic(new X509EncodedKeySpec(decodePem(pem)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Invalid " + algorithm + " public key", e);
+        }
+    }
+
+    private KeyFactory keyFactory() throws GeneralSecurityException {
+        return KeyFactory.getInstance(algorithm == JwtSigningAlgorithm.ES256 ? "EC" : "Ed25519");
+    }
+
+    private static byte[] decodePem(String pem) {
+        if (pem == null) {
+            throw new IllegalStateException("Missing key material");
+        }
+        String base64 = pem.replaceAll("-----(BEGIN|END) [A-Z ]+-----", "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(base64);
+    }
+
+    private static byte[] sha256(byte[] bytes) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(bytes);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static SecretKey hmacKey(String jwtSecret) {
+        if (jwtSecret.length() < 32) {
+            String paddedSecret = jwtSecret + "0".repeat(32 - jwtSecret.length());
+            return Keys.hmacShaKeyFor(paddedSecret.getBytes(StandardCharsets.UTF_8));
+        }
+        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+    }
+}
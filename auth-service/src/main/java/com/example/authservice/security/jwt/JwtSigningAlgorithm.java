@@ -0,0 +1,7 @@
+package com.example.authservice.security.jwt;
+
+public enum JwtSigningAlgorithm {
+    HS256,
+    ES256,
+    EDDSA
+}
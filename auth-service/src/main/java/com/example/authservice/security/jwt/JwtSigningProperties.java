@@ -0,0 +1,31 @@
+package com.example.authservice.security.jwt;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * Asymmetric signing setup. {@code keys} holds the active key plus any retired keys that must keep verifying
+ * tokens until they expire; retired entries only need their public key.
+ */
+@ConfigurationProperties(prefix = "jwt.signing")
+public record JwtSigningProperties(
+        @DefaultValue("HS256")
+        JwtSigningAlgorithm algorithm,
+
+        String activeKeyId,
+
+        @DefaultValue
+        List<SigningKey> keys,
+
+        @DefaultValue("true")
+        boolean acceptLegacyHmac
+) {
+
+    public record SigningKey(
+            String id,
+            String privateKey,
+            String publicKey
+    ) {}
+}
@@ -1,10 +1,15 @@
 package com.example.authservice.security.jwt;
 
 
+import com.example.authservice.security.RoleAuthorities;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
@@ -13,44 +18,60 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
-import java.util.Base64;
 import java.util.Date;
+import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    private final JwtKeyRing keyRing;
 
     @Value("${jwt.expiration:86400000}") // 24h default
     private Long jwtExpiration;
 
     public String generateToken(UserDetails user) {
         Date now = new Date();
-        return Jwts.builder()
+        return keyRing.sign(Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(user.getUsername())
-                .claim("authorities", user.getAuthorities().stream()
-                        .map(GrantedAuthority::getAuthority)
-                        .collect(Collectors.toList()))
+                .claim("authorities", authorityNames(user))
                 .issuedAt(now)
-                .expiration(new Date(now.getTime() + jwtExpiration))
-                .signWith(getSigningKey())
+                .expiration(new Date(now.getTime() + jwtExpiration)))
                 .compact();
     }
 
+    /**
+     * Parses and verifies the token exactly once. Expiry is enforced by the parser itself.
+     */
+    public JwtVerification verify(String token) {
+        if (!StringUtils.hasText(token)) {
+            return JwtVerification.rejected(JwtFailureReason.MISSING);
+        }
+        try {
+            return JwtVerification.valid(keyRing.parser().parseSignedClaims(token).getPayload());
+        } catch (ExpiredJwtException e) {
+            return JwtVerification.rejected(JwtFailureReason.EXPIRED);
+        } catch (SignatureException e) {
+            return JwtVerification.rejected(JwtFailureReason.BAD_SIGNATURE);
+        } catch (MalformedJwtException e) {
+            return JwtVerification.rejected(JwtFailureReason.MALFORMED);
+        } catch (UnsupportedJwtException e) {
+            return JwtVerification.rejected(JwtFailureReason.UNSUPPORTED);
+        } catch (JwtException | IllegalArgumentException e) {
+            return JwtVerification.rejected(JwtFailureReason.INVALID);
+        }
+    }
+
     public Claims getClaims(String token) {
         try {
-            return Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            return keyRing.parser().parseSignedClaims(token).getPayload();
         } catch (JwtException e) {
             log.error("Invalid JWT token: {}", e.getMessage());
             throw new RuntimeException("Invalid token", e);
@@ -58,15 +79,17 @@ public class JwtUtil {
     }
 
     public boolean isTokenValid(String token) {
-        try {
-            return !isExpired(token);
-        } catch (JwtException e) {
-            return false;
-        }
+        return verify(token).isValid();
     }
 
-    private boolean isExpired(String token) {
-        return getClaims(token).getExpiration().before(new Date());
+    private static List<String> authorityNames(UserDetails user) {
+        int mask = RoleAuthorities.maskOfAuthorities(user.getAuthorities());
+        if (mask >= 0) {
+            return RoleAuthorities.names(mask);
+        }
+        return user.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toList());
     }
 
     public static String getCurrentUserEmail() {
@@ -76,12 +99,4 @@ public class JwtUtil {
         }
         return authentication.getName();
     }
-
-    private SecretKey getSigningKey() {
-        if (jwtSecret.length() < 32) {
-            String paddedSecret = jwtSecret + "0".repeat(32 - jwtSecret.length());
-            return Keys.hmacShaKeyFor(paddedSecret.getBytes(StandardCharsets.UTF_8));
-        }
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,24 @@
+package com.example.authservice.security.jwt;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Outcome of a single parse + signature check: either the validated claims or the reason the token was rejected.
+ */
+public record JwtVerification(
+        Claims claims,
+        JwtFailureReason failure
+) {
+
+    public static JwtVerification valid(Claims claims) {
+        return new JwtVerification(claims, null);
+    }
+
+    public static JwtVerification rejected(JwtFailureReason failure) {
+        return new JwtVerification(null, failure);
+    }
+
+    public boolean isValid() {
+        return claims != null;
+    }
+}
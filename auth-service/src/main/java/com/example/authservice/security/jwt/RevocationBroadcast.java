@@ -0,0 +1,13 @@
+package com.example.authservice.security.jwt;
+
+/**
+ * A revocation announced on {@link TokenRevocations#REVOCATION_CHANNEL}: a token id with its expiry, or a user with
+ * the instant their existing tokens stopped being valid (epoch millis).
+ */
+record RevocationBroadcast(Kind kind, long millis, String subject) {
+
+    enum Kind {
+        TOKEN,
+        USER
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.authservice.security.jwt;
+
+import com.example.authservice.serialization.BinaryReader;
+import com.example.authservice.serialization.BinaryWriter;
+import com.example.authservice.serialization.PayloadType;
+import org.springframework.stereotype.Component;
+
+// v1: kind (0 token, 1 user), millis, subject
+@Component
+class RevocationPayloadType implements PayloadType<RevocationBroadcast> {
+
+    @Override
+    public int typeId() {
+        return 3;
+    }
+
+    @Override
+    public int version() {
+        return 1;
+    }
+
+    @Override
+    public Class<RevocationBroadcast> javaType() {
+        return RevocationBroadcast.class;
+    }
+
+    @Override
+    public void write(RevocationBroadcast value, BinaryWriter out) {
+        out.writeByte(value.kind() == RevocationBroadcast.Kind.TOKEN ? 0 : 1)
+                .writeVarLong(value.millis())
+                .writeString(value.subject());
+    }
+
+    @Override
+    public RevocationBroadcast read(BinaryReader in, int version) {
+        RevocationBroadcast.Kind kind = in.readByte() == 0 ? RevocationBroadcast.Kind.TOKEN : RevocationBroadcast.Kind.USER;
+        return new RevocationBroadcast(kind, in.readVarLong(), in.readString());
+    }
+}
@@ -0,0 +1,226 @@
+package com.example.authservice.security.jwt;
+
+import com.example.authservice.serialization.PayloadCodec;
+import com.example.authservice.serialization.PayloadFormat;
+import com.example.authservice.util.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked token ids and per-user "not before" instants. Redis holds the authoritative copy (keys expire with the
+ * tokens they revoke) and every change is broadcast on {@link #REVOCATION_CHANNEL}; each node mirrors it locally so
+ * the per-request check is a Bloom filter probe that almost always answers "not revoked" without touching Redis.
+ * The initial load runs in a lifecycle phase before the web server starts rather than during context refresh, so
+ * refreshing the context (as the CDS training run does) needs no Redis.
+ */
+@Component
+@Slf4j
+public class TokenRevocations implements MessageListener, SmartInitializingSingleton, SmartLifecycle {
+
+    public static final String REVOCATION_CHANNEL = "channel-token-revocation";
+
+    private static final byte[] REVOCATION_CHANNEL_BYTES = REVOCATION_CHANNEL.getBytes(StandardCharsets.UTF_8);
+    private static final String TOKEN_KEY_PREFIX = "revoked:jti:";
+    private static final String USER_KEY_PREFIX = "revoked:user:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final PayloadCodec payloadCodec;
+    private final long jwtExpirationMillis;
+    private final long expectedRevocations;
+    private final double falsePositiveRate;
+
+    // token id -> token expiry, user -> not-before; both epoch millis
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    private final Map<String, Long> notBefore = new ConcurrentHashMap<>();
+    private volatile BloomFilter revokedTokenFilter;
+    private volatile boolean running;
+
+    public TokenRevocations(StringRedisTemplate redisTemplate,
+                            RedisMessageListenerContainer listenerContainer,
+                            PayloadCodec payloadCodec,
+                            @Value("${jwt.expiration:86400000}") long jwtExpirationMillis,
+                            @Value("${jwt.revocation.expected-revocations:100000}") long expectedRevocations,
+                            @Value("${jwt.revocation.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.payloadCodec = payloadCodec;
+        this.jwtExpirationMillis = jwtExpirationMillis;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.revokedTokenFilter = new BloomFilter(expectedRevocations, falsePositiveRate);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(REVOCATION_CHANNEL));
+    }
+
+    @Override
+    public void start() {
+        try {
+            resync();
+        } catch (RuntimeException e) {
+            // not fatal: broadcasts and the periodic resync fill the gap once Redis is reachable
+            log.warn("could not load token revocations from Redis: {}", e.getMessage());
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    /**
+     * @param tokenId        the {@code jti} claim, null for tokens issued before ids were added
+     * @param issuedAtMillis the {@code iat} claim; JWT timestamps have second precision
+     */
+    public boolean isRevoked(String tokenId, long issuedAtMillis, String subject) {
+        if (tokenId != null && revokedTokenFilter.mightContain(tokenId) && revokedTokens.containsKey(tokenId)) {
+            return true;
+        }
+        if (notBefore.isEmpty()) {
+            return false;
+        }
+        Long revokedAt = notBefore.get(subject);
+        // a token issued in the same second as the revocation is rejected too
+        return revokedAt != null && issuedAtMillis <= revokedAt;
+    }
+
+    public void revokeToken(String tokenId, Date expiration) {
+        long expiresAt = expiration.getTime();
+        long ttl = expiresAt - System.currentTimeMillis();
+        if (ttl <= 0) {
+            return;
+        }
+        markTokenRevoked(tokenId, expiresAt);
+        redisTemplate.opsForValue().set(TOKEN_KEY_PREFIX + tokenId, Long.toString(expiresAt), Duration.ofMillis(ttl));
+        broadcast(new RevocationBroadcast(RevocationBroadcast.Kind.TOKEN, expiresAt, tokenId));
+    }
+
+    // every token the user holds right now becomes invalid; tokens issued after this second are accepted again
+    public void revokeAllFor(String subject) {
+        long revokedAt = System.currentTimeMillis();
+        markNotBefore(subject, revokedAt);
+        redisTemplate.opsForValue().set(USER_KEY_PREFIX + subject, Long.toString(revokedAt), Duration.ofMillis(jwtExpirationMillis));
+        broadcast(new RevocationBroadcast(RevocationBroadcast.Kind.USER, revokedAt, subject));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        RevocationBroadcast broadcast;
+        try {
+            broadcast = PayloadCodec.isBinary(message.getBody())
+                    ? payloadCodec.decode(message.getBody(), RevocationBroadcast.class)
+                    : parseText(new String(message.getBody(), StandardCharsets.UTF_8));
+        } catch (RuntimeException e) {
+            log.warn("ignoring malformed revocation message: {}", e.getMessage());
+            return;
+        }
+        if (broadcast.kind() == RevocationBroadcast.Kind.TOKEN) {
+            markTokenRevoked(broadcast.subject(), broadcast.millis());
+        } else {
+            markNotBefore(broadcast.subject(), broadcast.millis());
+        }
+    }
+
+    // the text form ("jti <millis> <id>" / "user <millis> <email>") is still written with redis.payload.format=JSON
+    // and read from nodes that have not switched yet
+    private void broadcast(RevocationBroadcast broadcast) {
+        byte[] message = payloadCodec.format() == PayloadFormat.BINARY
+                ? payloadCodec.encode(broadcast, PayloadFormat.BINARY)
+                : ((broadcast.kind() == RevocationBroadcast.Kind.TOKEN ? "jti " : "user ") + broadcast.millis() + " "
+                        + broadcast.subject()).getBytes(StandardCharsets.UTF_8);
+        redisTemplate.execute((RedisCallback<Long>) connection -> connection.publish(REVOCATION_CHANNEL_BYTES, message));
+    }
+
+    private static RevocationBroadcast parseText(String message) {
+        String[] parts = message.split(" ", 3);
+        if (parts.length != 3 || !(parts[0].equals("jti") || parts[0].equals("user"))) {
+            throw new IllegalArgumentException("unexpected format");
+        }
+        return new RevocationBroadcast(parts[0].equals("jti") ? RevocationBroadcast.Kind.TOKEN : RevocationBroadcast.Kind.USER,
+                Long.parseLong(parts[1]), parts[2]);
+    }
+
+    /**
+     * Merges Redis into the local state (covering broadcasts missed while disconnected), drops entries whose tokens
+     * can no longer be valid and rebuilds the Bloom filter so it does not fill up with expired ids.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.resync-interval:5m}", initialDelayString = "${jwt.revocation.resync-interval:5m}")
+    public void resync() {
+        loadFromRedis(TOKEN_KEY_PREFIX).forEach(this::markTokenRevoked);
+        loadFromRedis(USER_KEY_PREFIX).forEach(this::markNotBefore);
+
+        long now = System.currentTimeMillis();
+        notBefore.values().removeIf(revokedAt -> revokedAt + jwtExpirationMillis < now);
+        synchronized (this) {
+            revokedTokens.values().removeIf(expiresAt -> expiresAt < now);
+            BloomFilter filter = new BloomFilter(Math.max(expectedRevocations, revokedTokens.size() * 2L), falsePositiveRate);
+            revokedTokens.keySet().forEach(filter::put);
+            revokedTokenFilter = filter;
+        }
+        log.debug("token revocations: {} token ids, {} users", revokedTokens.size(), notBefore.size());
+    }
+
+    // synchronized with the filter rebuild so an id revoked meanwhile cannot miss the new filter
+    private synchronized void markTokenRevoked(String tokenId, long expiresAt) {
+        revokedTokens.put(tokenId, expiresAt);
+        revokedTokenFilter.put(tokenId);
+    }
+
+    private void markNotBefore(String subject, long revokedAt) {
+        notBefore.merge(subject, revokedAt, Math::max);
+    }
+
+    private Map<String, Long> loadFromRedis(String prefix) {
+        List<String> keys = new ArrayList<>();
+        try (Cursor<String> cursor = redisTemplate.scan(ScanOptions.scanOptions().match(prefix + "*").count(1000).build())) {
+            cursor.forEachRemaining(keys::add);
+        }
+        Map<String, Long> entries = new HashMap<>();
+        if (keys.isEmpty()) {
+            return entries;
+        }
+        List<String> values = redisTemplate.opsForValue().multiGet(keys);
+        for (int i = 0; i < keys.size(); i++) {
+            String value = values == null ? null : values.get(i);
+            if (value != null) {
+                entries.put(keys.get(i).substring(prefix.length()), Long.parseLong(value));
+            }
+        }
+        return entries;
+    }
+}
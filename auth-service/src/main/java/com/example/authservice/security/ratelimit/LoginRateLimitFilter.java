@@ -0,0 +1,174 @@
+package com.example.authservice.security.ratelimit;
+
+import com.example.authservice.security.AuthFailureLog;
+import com.example.authservice.security.ErrorResponses;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Token-bucket limits on the unauthenticated endpoints that cost a password hash, keyed by client IP and by the
+ * email in the body. Runs before authentication, so a rejected request never reaches the hashing pool or the
+ * database.
+ */
+@Component
+public class LoginRateLimitFilter extends OncePerRequestFilter {
+
+    static final Set<String> LIMITED_PATHS = Set.of("/api/v1/auth/authenticate", "/api/v1/auth/register");
+
+    // login and sign-up bodies are far below this; anything longer is cut off and fails JSON parsing downstream
+    private static final int MAX_BODY_BYTES = 16 * 1024;
+
+    private final boolean enabled;
+    private final TokenBucketLimiter ipLimiter;
+    private final TokenBucketLimiter emailLimiter;
+    private final RateLimitSync rateLimitSync;
+    private final AuthFailureLog authFailureLog;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public LoginRateLimitFilter(@Value("${security.rate-limit.enabled:true}") boolean enabled,
+                                @Value("${security.rate-limit.ip.capacity:20}") long ipCapacity,
+                                @Value("${security.rate-limit.ip.refill-period:1m}") Duration ipRefillPeriod,
+                                @Value("${security.rate-limit.email.capacity:5}") long emailCapacity,
+                                @Value("${security.rate-limit.email.refill-period:5m}") Duration emailRefillPeriod,
+                                @Value("${security.rate-limit.maximum-keys:100000}") long maximumKeys,
+                                StringRedisTemplate redisTemplate,
+                                AuthFailureLog authFailureLog) {
+        this.enabled = enabled;
+        this.ipLimiter = new TokenBucketLimiter("ip", ipCapacity, ipRefillPeriod, maximumKeys);
+        this.emailLimiter = new TokenBucketLimiter("email", emailCapacity, emailRefillPeriod, maximumKeys);
+        this.rateLimitSync = new RateLimitSync(redisTemplate);
+        this.authFailureLog = authFailureLog;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NotNull HttpServletRequest request) {
+        return !enabled || !"POST".equals(request.getMethod()) || !LIMITED_PATHS.contains(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(@NotNull HttpServletRequest request,
+                                    @NotNull HttpServletResponse response,
+                                    @NotNull FilterChain filterChain) throws ServletException, IOException {
+        // getRemoteAddr is the real client behind a trusted proxy (TrustedProxyForwardedHeaderFilter)
+        long retryAfter = ipLimiter.tryConsume(request.getRemoteAddr());
+        if (retryAfter > 0) {
+            reject(request, response, retryAfter, "ip");
+            return;
+        }
+
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request, request.getInputStream().readNBytes(MAX_BODY_BYTES));
+        String email = emailOf(cachedRequest.body);
+        if (email != null) {
+            retryAfter = emailLimiter.tryConsume(email);
+            if (retryAfter > 0) {
+                reject(request, response, retryAfter, "email");
+                return;
+            }
+        }
+        filterChain.doFilter(cachedRequest, response);
+    }
+
+    @Scheduled(fixedDelayString = "${security.rate-limit.sync-interval:1s}")
+    public void sync() {
+        if (enabled) {
+            rateLimitSync.sync(ipLimiter);
+            rateLimitSync.sync(emailLimiter);
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long retryAfterSeconds, String scope)
+            throws IOException {
+        authFailureLog.record("rate_limited:" + scope);
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        ErrorResponses.TOO_MANY_REQUESTS.write(response, request.getRequestURI());
+    }
+
+    // malformed bodies are not limited by email here; validation rejects them before any hashing
+    private String emailOf(byte[] body) {
+        try {
+            JsonNode email = objectMapper.readTree(body).get("email");
+            return email != null && email.isTextual() ? email.asText().trim().toLowerCase(Locale.ROOT) : null;
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
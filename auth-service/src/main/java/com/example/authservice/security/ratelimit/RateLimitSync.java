@@ -0,0 +1,85 @@
+package com.example.authservice.security.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pushes each node's local consumption to shared Redis counters in one pipelined round trip ({@code INCRBY} +
+ * {@code PEXPIRE} per active key) and feeds the returned totals back into the local buckets. Counters are keyed by
+ * refill window, so each holds one window's consumption rather than a key's lifetime total.
+ */
+@Slf4j
+class RateLimitSync {
+
+    private static final String KEY_PREFIX = "ratelimit:";
+
+    private final StringRedisTemplate redisTemplate;
+
+    RateLimitSync(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    void sync(TokenBucketLimiter limiter) {
+        // only keys used since the last sync; an idle key learns about other nodes on its next active sync
+        List<Map.Entry<String, TokenBucketLimiter.Bucket>> buckets = new ArrayList<>();
+        List<Long> pending = new ArrayList<>();
+        for (Map.Entry<String, TokenBucketLimiter.Bucket> bucket : limiter.snapshot()) {
+            long delta = bucket.getValue().drainUnsynced();
+            if (delta > 0) {
+                buckets.add(bucket);
+                pending.add(delta);
+            }
+        }
+        if (buckets.isEmpty()) {
+            return;
+        }
+        long[] deltas = pending.stream().mapToLong(Long::longValue).toArray();
+        long window = window(System.currentTimeMillis(), limiter.fullRefill());
+        // a window's counter outlives the window only by one more, so an idle key costs nothing in Redis
+        long ttlMillis = limiter.fullRefill().toMillis() * 2;
+        List<byte[]> keys = new ArrayList<>(deltas.length);
+        for (Map.Entry<String, TokenBucketLimiter.Bucket> bucket : buckets) {
+            keys.add((KEY_PREFIX + limiter.scope() + ":" + bucket.getKey() + ":" + window).getBytes(StandardCharsets.UTF_8));
+        }
+
+        List<Object> results;
+        try {
+            results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                pipeline(connection, keys, deltas, ttlMillis);
+                return null;
+            });
+        } catch (RuntimeException e) {
+            // keep the consumption for the next attempt; local limits still apply meanwhile
+            for (int i = 0; i < deltas.length; i++) {
+                buckets.get(i).getValue().restoreUnsynced(deltas[i]);
+            }
+            log.warn("rate limit sync for {} failed: {}", limiter.scope(), e.getMessage());
+            return;
+        }
+
+        for (int i = 0; i < deltas.length; i++) {
+            if (results.get(i * 2) instanceof Long total) {
+                buckets.get(i).getValue().applyClusterTotal(window, total, deltas[i]);
+            }
+        }
+    }
+
+    static long window(long epochMillis, Duration refillPeriod) {
+        return epochMillis / Math.max(1, refillPeriod.toMillis());
+    }
+
+    private static void pipeline(RedisConnection connection, List<byte[]> keys, long[] deltas, long ttlMillis) {
+        for (int i = 0; i < deltas.length; i++) {
+            connection.stringCommands().incrBy(keys.get(i), deltas[i]);
+            connection.keyCommands().pExpire(keys.get(i), ttlMillis);
+        }
+    }
+}
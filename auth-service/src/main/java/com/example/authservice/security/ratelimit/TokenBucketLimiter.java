@@ -0,0 +1,110 @@
+package com.example.authservice.security.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Token buckets for one key space (client IP or email). Decisions are purely local; {@link RateLimitSync} adds the
+ * tokens other nodes consumed for the same key in the current refill window after each sync, so a client spreading
+ * requests across instances gets the cluster-wide budget (plus at most one sync interval of slack per node).
+ */
+class TokenBucketLimiter {
+
+    private final String scope;
+    private final long capacity;
+    private final double tokensPerNano;
+    private final Cache<String, Bucket> buckets;
+
+    TokenBucketLimiter(String scope, long capacity, Duration refillPeriod, long maximumKeys) {
+        this.scope = scope;
+        this.capacity = capacity;
+        this.tokensPerNano = (double) capacity / refillPeriod.toNanos();
+        // idle buckets are full again after one refill period, so they can be forgotten
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(refillPeriod)
+                .build();
+    }
+
+    String scope() {
+        return scope;
+    }
+
+    Duration fullRefill() {
+        return Duration.ofNanos((long) (capacity / tokensPerNano));
+    }
+
+    /**
+     * @return 0 when a token was taken, otherwise the seconds until one is available
+     */
+    long tryConsume(String key) {
+        return buckets.get(key, k -> new Bucket(capacity)).tryConsume(System.nanoTime());
+    }
+
+    List<Map.Entry<String, Bucket>> snapshot() {
+        return new ArrayList<>(buckets.asMap().entrySet());
+    }
+
+    final class Bucket {
+
+        private double tokens;
+        private long refilledAt;
+        private long unsynced;
+        private long lastWindow = -1;
+        private long lastClusterTotal;
+
+        private Bucket(long tokens) {
+            this.tokens = tokens;
+            this.refilledAt = System.nanoTime();
+        }
+
+        synchronized long tryConsume(long now) {
+            refill(now);
+            if (tokens >= 1) {
+                tokens--;
+                unsynced++;
+                return 0;
+            }
+            return Math.max(1, (long) Math.ceil((1 - tokens) / tokensPerNano / 1_000_000_000d));
+        }
+
+        synchronized long drainUnsynced() {
+            long delta = unsynced;
+            unsynced = 0;
+            return delta;
+        }
+
+        synchronized void restoreUnsynced(long delta) {
+            unsynced += delta;
+        }
+
+        /**
+         * The first sync of a bucket in a window charges everything the window's counter holds beyond this node's own
+         * delta, so a node joining a busy key starts from the cluster's consumption rather than a full bucket.
+         * Counters cover a single refill window, so consumption that has long been refilled is never charged again.
+         *
+         * @param window       the refill window the counter belongs to
+         * @param clusterTotal the window's cluster-wide counter after this node added {@code ownDelta}
+         */
+        synchronized void applyClusterTotal(long window, long clusterTotal, long ownDelta) {
+            long previous = window == lastWindow ? lastClusterTotal : 0;
+            long consumedElsewhere = clusterTotal - previous - ownDelta;
+            if (consumedElsewhere > 0) {
+                refill(System.nanoTime());
+                tokens = Math.max(0, tokens - consumedElsewhere);
+            }
+            lastWindow = window;
+            lastClusterTotal = clusterTotal;
+        }
+
+        private void refill(long now) {
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+            refilledAt = now;
+        }
+    }
+}
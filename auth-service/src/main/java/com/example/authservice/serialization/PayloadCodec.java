@@ -0,0 +1,115 @@
+package com.example.authservice.serialization;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes the payloads this service writes to Redis with their registered {@link PayloadType}s:
+ * {@code [MAGIC][type id][version][fields...]}. {@link #MAGIC} can never start JSON (or any UTF-8 text), so readers
+ * tell binary payloads from JSON written by older nodes by their first byte and accept both; {@link #format()} only
+ * decides what is written.
+ */
+@Component
+public class PayloadCodec {
+
+    public static final byte MAGIC = (byte) 0xB1;
+
+    private final ObjectMapper objectMapper;
+    private final PayloadFormat format;
+    private final Map<Integer, PayloadType<?>> typesById = new HashMap<>();
+    private final Map<Class<?>, PayloadType<?>> typesByClass = new HashMap<>();
+
+    public PayloadCodec(List<PayloadType<?>> types, ObjectMapper objectMapper,
+                        @Value("${redis.payload.format:JSON}") PayloadFormat format) {
+        this.objectMapper = objectMapper;
+        this.format = format;
+        for (PayloadType<?> type : types) {
+            PayloadType<?> previous = typesById.put(type.typeId(), type);
+            if (previous != null) {
+                throw new IllegalStateException("Payload type id " + type.typeId() + " is used by both "
+                        + previous.javaType().getName() + " and " + type.javaType().getName());
+            }
+            typesByClass.put(type.javaType(), type);
+        }
+    }
+
+    public PayloadFormat format() {
+        return format;
+    }
+
+    public boolean supports(Class<?> javaType) {
+        return typesByClass.containsKey(javaType);
+    }
+
+    public byte[] encode(Object value) {
+        return encode(value, format);
+    }
+
+    @SuppressWarnings("unchecked")
+    public byte[] encode(Object value, PayloadFormat format) {
+        if (format == PayloadFormat.JSON) {
+            try {
+                return objectMapper.writeValueAsBytes(value);
+            } catch (IOException e) {
+                throw new PayloadException("Cannot serialize " + value.getClass().getSimpleName() + " as JSON", e);
+            }
+        }
+        PayloadType<Object> type = (PayloadType<Object>) typesByClass.get(value.getClass());
+        if (type == null) {
+            throw new PayloadException("No binary payload type registered for " + value.getClass().getName());
+        }
+        BinaryWriter out = new BinaryWriter(64);
+        out.writeByte(MAGIC).writeVarInt(type.typeId()).writeVarInt(type.version());
+        type.write(value, out);
+        return out.toByteArray();
+    }
+
+    public static boolean isBinary(byte[] bytes) {
+        return bytes != null && bytes.length > 0 && bytes[0] == MAGIC;
+    }
+
+    /**
+     * Decodes a binary payload of any registered type.
+     */
+    public Object decode(byte[] bytes) {
+        if (!isBinary(bytes)) {
+            throw new PayloadException("not a binary payload");
+        }
+        BinaryReader in = new BinaryReader(bytes, 1);
+        int typeId = in.readVarInt();
+        int version = in.readVarInt();
+        PayloadType<?> type = typesById.get(typeId);
+        if (type == null) {
+            throw new PayloadException("unknown payload type id " + typeId);
+        }
+        if (version > type.version()) {
+            throw new PayloadException(type.javaType().getSimpleName() + " payload version " + version
+                    + " is newer than supported version " + type.version());
+        }
+        return type.read(in, version);
+    }
+
+    /**
+     * Decodes a binary payload, or JSON as written before the switch to binary.
+     */
+    public <T> T decode(byte[] bytes, Class<T> javaType) {
+        if (!isBinary(bytes)) {
+            try {
+                return objectMapper.readValue(bytes, javaType);
+            } catch (IOException e) {
+                throw new PayloadException("Cannot read " + javaType.getSimpleName() + " from JSON", e);
+            }
+        }
+        Object value = decode(bytes);
+        if (!javaType.isInstance(value)) {
+            throw new PayloadException("expected " + javaType.getSimpleName() + " but got " + value.getClass().getSimpleName());
+        }
+        return javaType.cast(value);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.authservice.serialization;
+
+public class PayloadException extends RuntimeException {
+    public PayloadException(String message) {
+        super(message);
+    }
+
+    public PayloadException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
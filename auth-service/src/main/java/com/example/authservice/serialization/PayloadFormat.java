@@ -0,0 +1,6 @@
+package com.example.authservice.serialization;
+
+public enum PayloadFormat {
+    JSON,
+    BINARY
+}
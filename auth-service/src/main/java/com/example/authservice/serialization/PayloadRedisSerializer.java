@@ -0,0 +1,31 @@
+package com.example.authservice.serialization;
+
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+/**
+ * Value serializer for {@code RedisTemplate<String, Object>}: registered payload types are written in the
+ * configured format, anything else as JSON; reads accept both.
+ */
+public class PayloadRedisSerializer implements RedisSerializer<Object> {
+
+    private final PayloadCodec codec;
+    private final Jackson2JsonRedisSerializer<Object> json = new Jackson2JsonRedisSerializer<>(Object.class);
+
+    public PayloadRedisSerializer(PayloadCodec codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    public byte[] serialize(Object value) {
+        if (value != null && codec.format() == PayloadFormat.BINARY && codec.supports(value.getClass())) {
+            return codec.encode(value, PayloadFormat.BINARY);
+        }
+        return json.serialize(value);
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) {
+        return PayloadCodec.isBinary(bytes) ? codec.decode(bytes) : json.deserialize(bytes);
+    }
+}
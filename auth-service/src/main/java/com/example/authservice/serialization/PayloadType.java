@@ -0,0 +1,19 @@
+package com.example.authservice.serialization;
+
+/**
+ * Binary layout of one payload class. The type id is written into every payload and must never be reused; bump
+ * {@link #version()} whenever the layout changes and keep reading the older versions for as long as they can still
+ * be in Redis or in flight.
+ */
+public interface PayloadType<T> {
+
+    int typeId();
+
+    int version();
+
+    Class<T> javaType();
+
+    void write(T value, BinaryWriter out);
+
+    T read(BinaryReader in, int version);
+}
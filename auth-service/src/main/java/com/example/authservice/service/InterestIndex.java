@@ -0,0 +1,357 @@
+package com.example.authservice.service;
+
+import com.example.authservice.DTO.MemberInterests;
+import com.example.authservice.enums.AccountStatus;
+import com.example.authservice.repository.MemberRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index from interest terms to sorted {@code int[]} posting lists of member ids. It is filled by
+ * streaming the member table once the application is ready and then kept current from registration and activation
+ * events, so interest searches never scan Postgres. Members changed on this node are broadcast on
+ * {@link #CHANGES_CHANNEL} after commit and reloaded by the other nodes; a periodic check against the member counts
+ * picks up whatever a lost broadcast left out.
+ */
+@Component
+@Slf4j
+public class InterestIndex implements MessageListener, SmartInitializingSingleton {
+
+    public static final String CHANGES_CHANNEL = "channel-interest-index";
+
+    private static final int MIN_TERM_LENGTH = 2;
+
+    private final MemberRepository memberRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    // lets a node skip its own broadcasts
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Integer, String[]> termsByMember = new HashMap<>();
+    private final BitSet activeMembers = new BitSet();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    public InterestIndex(MemberRepository memberRepository,
+                         TransactionTemplate transactionTemplate,
+                         StringRedisTemplate redisTemplate,
+                         RedisMessageListenerContainer listenerContainer) {
+        this.memberRepository = memberRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANGES_CHANNEL));
+    }
+
+    public record Hit(long memberId, int score) {}
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long started = System.nanoTime();
+        // members registered meanwhile are indexed by their events as well; indexing a member twice is harmless
+        Integer indexed = readOnlyTransaction.execute(status -> {
+            int count = 0;
+            try (Stream<MemberInterests> rows = memberRepository.streamInterests()) {
+                for (MemberInterests row : (Iterable<MemberInterests>) rows::iterator) {
+                    index(row.id(), row.interests(), row.status() == AccountStatus.ACTIVATED);
+                    count++;
+                }
+            }
+            return count;
+        });
+        ready = true;
+        log.info("interest index built: {} members, {} terms in {} ms",
+                indexed, postings.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @EventListener
+    public void onRegistered(MemberRegisteredEvent event) {
+        changed(List.of(event), List.of());
+    }
+
+    @EventListener
+    public void onActivated(MembersActivatedEvent event) {
+        changed(List.of(), event.ids());
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(':');
+        if (separator < 0 || body.substring(0, separator).equals(nodeId) || !ready) {
+            return;
+        }
+        List<Long> ids = Arrays.stream(body.substring(separator + 1).split(",")).map(Long::valueOf).toList();
+        // read from the primary: a replica may not have the broadcasting commit yet
+        transactionTemplate.executeWithoutResult(status ->
+                memberRepository.findInterestsByIds(ids).forEach(row ->
+                        index(row.id(), row.interests(), row.status() == AccountStatus.ACTIVATED)));
+    }
+
+    /**
+     * Safety net for lost broadcasts: when the member counts disagree with the index, streams the table and indexes
+     * the members (or activations) it is missing.
+     */
+    @Scheduled(fixedDelayString = "${members.interest-index.catch-up-interval:1m}",
+            initialDelayString = "${members.interest-index.catch-up-interval:1m}")
+    public void catchUp() {
+        if (!ready) {
+            return;
+        }
+        long members = memberRepository.count();
+        long activated = memberRepository.countByStatus(AccountStatus.ACTIVATED);
+        lock.readLock().lock();
+        try {
+            if (members == termsByMember.size() && activated == activeMembers.cardinality()) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        Integer caughtUp = readOnlyTransaction.execute(status -> {
+            int count = 0;
+            try (Stream<MemberInterests> rows = memberRepository.streamInterests()) {
+                for (MemberInterests row : (Iterable<MemberInterests>) rows::iterator) {
+                    boolean active = row.status() == AccountStatus.ACTIVATED;
+                    if (isMissing(row.id(), active)) {
+                        index(row.id(), row.interests(), active);
+                        count++;
+                    }
+                }
+            }
+            return count;
+        });
+        if (caughtUp != null && caughtUp > 0) {
+            log.info("interest index caught up on {} members", caughtUp);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Members matching at least one query term, best overlap first, ties broken by id.
+     */
+    public List<Hit> search(String query, boolean activeOnly, int limit) {
+        String[] terms = tokenize(query);
+        if (terms.length == 0) {
+            return List.of();
+        }
+        Map<Integer, Integer> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            for (String term : terms) {
+                PostingList list = postings.get(term);
+                if (list == null) {
+                    continue;
+                }
+                for (int i = 0; i < list.size; i++) {
+                    int id = list.ids[i];
+                    if (!activeOnly || activeMembers.get(id)) {
+                        scores.merge(id, 1, Integer::sum);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Integer, Integer>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(entry -> new Hit(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    private boolean isMissing(Long memberId, boolean active) {
+        int id = Math.toIntExact(memberId);
+        lock.readLock().lock();
+        try {
+            return !termsByMember.containsKey(id) || (active && !activeMembers.get(id));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Applies the changes and broadcasts the members when the current transaction commits (immediately without one);
+     * all changes of one transaction, e.g. an import chunk, go out as a single broadcast.
+     */
+    private void changed(List<MemberRegisteredEvent> registered, List<Long> activated) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            PendingChanges immediate = new PendingChanges();
+            immediate.add(registered, activated);
+            immediate.afterCommit();
+            return;
+        }
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingChanges pending) {
+                pending.add(registered, activated);
+                return;
+            }
+        }
+        PendingChanges pending = new PendingChanges();
+        pending.add(registered, activated);
+        TransactionSynchronizationManager.registerSynchronization(pending);
+    }
+
+    private void apply(List<MemberRegisteredEvent> registered, Set<Long> activated) {
+        registered.forEach(event -> index(event.id(), event.interests(), false));
+        lock.writeLock().lock();
+        try {
+            activated.forEach(id -> activeMembers.set(Math.toIntExact(id)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void broadcast(Set<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(CHANGES_CHANNEL,
+                    nodeId + ":" + ids.stream().map(String::valueOf).collect(Collectors.joining(",")));
+        } catch (RuntimeException e) {
+            // the other nodes pick these members up on their next catch-up
+            log.warn("could not broadcast {} interest index change(s): {}", ids.size(), e.getMessage());
+        }
+    }
+
+    private void index(Long memberId, String interests, boolean active) {
+        int id = Math.toIntExact(memberId);
+        String[] terms = tokenize(interests);
+        lock.writeLock().lock();
+        try {
+            String[] previous = termsByMember.put(id, terms);
+            if (previous != null) {
+                for (String term : previous) {
+                    PostingList list = postings.get(term);
+                    if (list != null && list.remove(id) && list.size == 0) {
+                        postings.remove(term);
+                    }
+                }
+            }
+            for (String term : terms) {
+                postings.computeIfAbsent(term, t -> new PostingList()).add(id);
+            }
+            if (active) {
+                activeMembers.set(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // distinct lower-case alphanumeric runs, so "Robotics, ML & IoT" -> [robotics, ml, iot]
+    static String[] tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return new String[0];
+        }
+        Set<String> terms = new LinkedHashSet<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (token.length() >= MIN_TERM_LENGTH) {
+                terms.add(token);
+            }
+        }
+        return terms.toArray(String[]::new);
+    }
+
+    private final class PendingChanges implements TransactionSynchronization {
+
+        private final List<MemberRegisteredEvent> registered = new ArrayList<>();
+        private final Set<Long> activated = new LinkedHashSet<>();
+
+        void add(List<MemberRegisteredEvent> registered, List<Long> activated) {
+            this.registered.addAll(registered);
+            this.activated.addAll(activated);
+        }
+
+        @Override
+        public void afterCommit() {
+            apply(registered, activated);
+            Set<Long> ids = new LinkedHashSet<>(activated);
+            registered.forEach(event -> ids.add(event.id()));
+            broadcast(ids);
+        }
+    }
+
+    /**
+     * Sorted, duplicate-free member ids. Ids come from a sequence, so adds are almost always appends.
+     */
+    private static final class PostingList {
+
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int id) {
+            if (size > 0 && ids[size - 1] >= id) {
+                int at = Arrays.binarySearch(ids, 0, size, id);
+                if (at >= 0) {
+                    return;
+                }
+                insert(-at - 1, id);
+                return;
+            }
+            insert(size, id);
+        }
+
+        boolean remove(int id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at < 0) {
+                return false;
+            }
+            System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+            size--;
+            return true;
+        }
+
+        private void insert(int at, int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+            }
+            System.arraycopy(ids, at, ids, at + 1, size - at);
+            ids[at] = id;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.example.authservice.service;
+
+import com.example.authservice.DTO.MemberCredentials;
+import com.example.authservice.DTO.MemberSnapshot;
+import com.example.authservice.config.DatabaseReplicaProperties;
+import com.example.authservice.repository.MemberRepository;
+import com.example.authservice.serialization.PayloadCodec;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Read-through cache of member rows by id and email: a small Caffeine tier per node in front of a shared Redis tier
+ * in front of Postgres. Emails never change, so the email tier only maps to ids and invalidating a member by id is
+ * enough. Changes are collected per transaction and, after commit, deleted from Redis and broadcast on
+ * {@link #INVALIDATION_CHANNEL} so every node drops its local copy. For {@code db.replica.max-lag} after an
+ * invalidation a member is served but not re-cached, so neither a lagging replica nor a load that raced the
+ * committing write can put the old row back. Credentials (with the password hash) are cached only in the local tier
+ * and never written to Redis.
+ */
+@Component
+@Slf4j
+public class MemberCache implements MessageListener, SmartInitializingSingleton {
+
+    public static final String INVALIDATION_CHANNEL = "channel-member-cache";
+
+    private static final String ID_KEY_PREFIX = "member:id:";
+    private static final String EMAIL_KEY_PREFIX = "member:email:";
+
+    private final MemberRepository memberRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final PayloadCodec payloadCodec;
+    private final boolean localEnabled;
+    private final boolean redisEnabled;
+    private final Duration redisTtl;
+
+    private final Cache<Long, MemberSnapshot> byId;
+    private final Cache<String, Long> idsByEmail;
+    private final Cache<Long, MemberCredentials> credentialsById;
+    private final Cache<Long, Boolean> recentlyInvalidated;
+    private final Counter redisHits;
+    private final Counter redisMisses;
+
+    public MemberCache(MemberRepository memberRepository,
+                       StringRedisTemplate redisTemplate,
+                       RedisMessageListenerContainer listenerContainer,
+                       PayloadCodec payloadCodec,
+                       MeterRegistry meterRegistry,
+                       DatabaseReplicaProperties replicaProperties,
+                       @Value("${members.cache.local.enabled:true}") boolean localEnabled,
+                       @Value("${members.cache.local.maximum-size:10000}") long localMaximumSize,
+                       @Value("${members.cache.local.ttl:1m}") Duration localTtl,
+                       @Value("${members.cache.redis.enabled:true}") boolean redisEnabled,
+                       @Value("${members.cache.redis.ttl:30m}") Duration redisTtl) {
+        this.memberRepository = memberRepository;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.payloadCodec = payloadCodec;
+        this.localEnabled = localEnabled;
+        this.redisEnabled = redisEnabled;
+        this.redisTtl = redisTtl;
+        // the local TTL bounds staleness if an invalidation broadcast is lost
+        this.byId = Caffeine.newBuilder().maximumSize(localMaximumSize).expireAfterWrite(localTtl).recordStats().build();
+        this.idsByEmail = Caffeine.newBuilder().maximumSize(localMaximumSize).recordStats().build();
+        this.credentialsById = Caffeine.newBuilder().maximumSize(localMaximumSize).expireAfterWrite(localTtl).recordStats().build();
+        this.recentlyInvalidated = Caffeine.newBuilder().expireAfterWrite(replicaProperties.maxLag()).build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "members.local");
+        CaffeineCacheMetrics.monitor(meterRegistry, idsByEmail, "members.local.email");
+        CaffeineCacheMetrics.monitor(meterRegistry, credentialsById, "members.local.credentials");
+        this.redisHits = redisGets(meterRegistry, "hit");
+        this.redisMisses = redisGets(meterRegistry, "miss");
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+    }
+
+    public Optional<MemberSnapshot> findById(Long id) {
+        MemberSnapshot member = localEnabled ? byId.getIfPresent(id) : null;
+        if (member == null) {
+            member = readRedis(ID_KEY_PREFIX + id).map(this::deserialize).orElse(null);
+            if (member == null) {
+                member = memberRepository.findMemberById(id).map(MemberSnapshot::of).orElse(null);
+                if (member != null) {
+                    store(member);
+                }
+            } else if (localEnabled && recentlyInvalidated.getIfPresent(id) == null) {
+                byId.put(id, member);
+            }
+        }
+        return Optional.ofNullable(member);
+    }
+
+    public Optional<MemberSnapshot> findByEmail(String email) {
+        Long id = localEnabled ? idsByEmail.getIfPresent(email) : null;
+        if (id == null) {
+            id = readRedis(EMAIL_KEY_PREFIX + email).map(value -> Long.valueOf(new String(value, StandardCharsets.UTF_8))).orElse(null);
+            if (id == null) {
+                MemberSnapshot member = memberRepository.findMemberByEmail(email).map(MemberSnapshot::of).orElse(null);
+                if (member != null) {
+                    store(member);
+                }
+                return Optional.ofNullable(member);
+            }
+            if (localEnabled) {
+                idsByEmail.put(email, id);
+            }
+        }
+        return findById(id);
+    }
+
+    /**
+     * Login credentials from the local tier, else straight from the database; never from or into Redis.
+     */
+    public Optional<MemberCredentials> findCredentials(String email) {
+        Long id = localEnabled ? idsByEmail.getIfPresent(email) : null;
+        MemberCredentials credentials = id == null ? null : credentialsById.getIfPresent(id);
+        if (credentials == null) {
+            credentials = memberRepository.findCredentialsByEmail(email).orElse(null);
+            if (credentials != null && localEnabled && recentlyInvalidated.getIfPresent(credentials.id()) == null) {
+                credentialsById.put(credentials.id(), credentials);
+                idsByEmail.put(email, credentials.id());
+            }
+        }
+        return Optional.ofNullable(credentials);
+    }
+
+    @EventListener
+    public void onRegistered(MemberRegisteredEvent event) {
+        evictAfterCommit(List.of(event.id()));
+    }
+
+    @EventListener
+    public void onActivated(MembersActivatedEvent event) {
+        evictAfterCommit(event.ids());
+    }
+
+    /**
+     * Queues the members for invalidation when the current transaction commits (immediately without one); all
+     * members changed by one transaction, e.g. an import chunk, go out as a single delete and broadcast.
+     */
+    public void evictAfterCommit(Collection<Long> ids) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(ids);
+            return;
+        }
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingEvictions pending) {
+                pending.ids.addAll(ids);
+                return;
+            }
+        }
+        PendingEvictions pending = new PendingEvictions();
+        pending.ids.addAll(ids);
+        TransactionSynchronizationManager.registerSynchronization(pending);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        for (String id : new String(message.getBody(), StandardCharsets.UTF_8).split(",")) {
+            evictLocal(Long.parseLong(id));
+        }
+    }
+
+    private void evict(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        ids.forEach(this::evictLocal);
+        if (!redisEnabled) {
+            return;
+        }
+        try {
+            redisTemplate.delete(ids.stream().map(id -> ID_KEY_PREFIX + id).toList());
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL,
+                    ids.stream().map(String::valueOf).collect(Collectors.joining(",")));
+        } catch (RuntimeException e) {
+            // other nodes fall back on the local TTL
+            log.warn("could not invalidate {} cached member(s) in Redis: {}", ids.size(), e.getMessage());
+        }
+    }
+
+    private void evictLocal(Long id) {
+        recentlyInvalidated.put(id, Boolean.TRUE);
+        byId.invalidate(id);
+        credentialsById.invalidate(id);
+    }
+
+    private void store(MemberSnapshot member) {
+        if (recentlyInvalidated.getIfPresent(member.id()) != null) {
+            return;
+        }
+        if (localEnabled) {
+            byId.put(member.id(), member);
+            idsByEmail.put(member.email(), member.id());
+        }
+        if (redisEnabled) {
+            byte[] value = payloadCodec.encode(member);
+            Expiration expiration = Expiration.from(redisTtl);
+            try {
+                redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    connection.stringCommands().set(key(ID_KEY_PREFIX + member.id()), value, expiration, SetOption.upsert());
+                    connection.stringCommands().set(key(EMAIL_KEY_PREFIX + member.email()),
+                            key(member.id().toString()), expiration, SetOption.upsert());
+                    return null;
+                });
+            } catch (RuntimeException e) {
+                log.debug("could not cache member {} in Redis: {}", member.id(), e.getMessage());
+            }
+        }
+    }
+
+    private Optional<byte[]> readRedis(String key) {
+        if (!redisEnabled) {
+            return Optional.empty();
+        }
+        try {
+            byte[] value = redisTemplate.execute((RedisCallback<byte[]>) connection -> connection.stringCommands().get(key(key)));
+            (value == null ? redisMisses : redisHits).increment();
+            return Optional.ofNullable(value);
+        } catch (RuntimeException e) {
+            log.debug("member cache lookup in Redis failed: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    // entries written as JSON before the switch to binary stay readable until they expire
+    private MemberSnapshot deserialize(byte[] value) {
+        try {
+            return payloadCodec.decode(value, MemberSnapshot.class);
+        } catch (RuntimeException e) {
+            // treated as a miss; the row is reloaded and the entry overwritten
+            log.warn("unreadable cached member: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static byte[] key(String key) {
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Counter redisGets(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("cache.gets")
+                .tag("cache", "members.redis")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private final class PendingEvictions implements TransactionSynchronization {
+
+        private final Set<Long> ids = new LinkedHashSet<>();
+
+        @Override
+        public void afterCommit() {
+            evict(ids);
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package com.example.authservice.service;
+
+import com.example.authservice.DTO.MemberImportResult;
+import com.example.authservice.DTO.SignUpDTO;
+import com.example.authservice.entity.Member;
+import com.example.authservice.enums.*;
+import com.example.authservice.exceptions.InvalidImportFileException;
+import com.example.authservice.mail.EmailTemplateService;
+import com.example.authservice.repository.MemberRepository;
+import com.example.authservice.security.PasswordHashingExecutor;
+import com.example.authservice.util.PhoneNumberValidator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+
+/**
+ * Imports members from a CSV (header row with the {@link SignUpDTO} field names) or NDJSON stream. Rows are read,
+ * validated, hashed and inserted one chunk at a time, and each chunk's per-row outcome is written back before the
+ * next one is read, so neither the upload nor the report is ever held in memory.
+ */
+@Service
+@Slf4j
+public class MemberImportService {
+
+    public enum Format { CSV, NDJSON }
+
+    private static final List<String> CSV_COLUMNS = List.of("email", "firstName", "lastName", "phoneNumber",
+            "gender", "major", "academicYear", "interests", "password");
+    private static final byte[] NEWLINE = {'\n'};
+
+    private final MemberRepository memberRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final Validator validator;
+    private final EmailTemplateService emailTemplateService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final double hashingShare;
+
+    public MemberImportService(MemberRepository memberRepository,
+                               PasswordEncoder passwordEncoder,
+                               PasswordHashingExecutor passwordHashingExecutor,
+                               Validator validator,
+                               EmailTemplateService emailTemplateService,
+                               TransactionTemplate transactionTemplate,
+                               ObjectMapper objectMapper,
+                               ApplicationEventPublisher eventPublisher,
+                               @Value("${members.import.chunk-size:200}") int chunkSize,
+                               @Value("${members.import.hashing-share:0.5}") double hashingShare) {
+        this.memberRepository = memberRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.validator = validator;
+        this.emailTemplateService = emailTemplateService;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        this.hashingShare = hashingShare;
+    }
+
+    public void importMembers(InputStream in, Format format, OutputStream out) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        RowReader rows = format == Format.CSV ? new CsvRowReader(reader) : new NdjsonRowReader(reader);
+        Semaphore hashingPermits = new Semaphore(hashingPermits());
+        long imported = 0;
+        long failed = 0;
+
+        try (ExecutorService hashers = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Row> chunk = new ArrayList<>(chunkSize);
+            Row row;
+            do {
+                row = rows.next();
+                if (row != null) {
+                    chunk.add(row);
+                }
+                if (chunk.size() == chunkSize || (row == null && !chunk.isEmpty())) {
+                    importChunk(chunk, hashers, hashingPermits);
+                    for (Row done : chunk) {
+                        if (done.error == null) {
+                            imported++;
+                            write(out, MemberImportResult.imported(done.line, done.dto.email()));
+                        } else {
+                            failed++;
+                            write(out, MemberImportResult.failed(done.line, done.dto == null ? null : done.dto.email(), done.error));
+                        }
+                    }
+                    out.flush();
+                    chunk.clear();
+                }
+            } while (row != null);
+        }
+
+        write(out, MemberImportResult.summary(imported, failed));
+        out.flush();
+        log.info("member import finished: {} imported, {} failed", imported, failed);
+    }
+
+    // a share of the hashing threads, always leaving at least one free for logins (unless the pool has only one)
+    private int hashingPermits() {
+        int threads = passwordHashingExecutor.threads();
+        int share = (int) Math.round(threads * hashingShare);
+        return Math.max(1, Math.min(threads - 1, share));
+    }
+
+    private void importChunk(List<Row> chunk, ExecutorService hashers, Semaphore hashingPermits) {
+        Map<String, Row> byEmail = new HashMap<>();
+        for (Row row : chunk) {
+            if (row.error == null) {
+                row.error = validate(row);
+            }
+            if (row.error == null && byEmail.putIfAbsent(row.dto.email(), row) != null) {
+                row.error = "duplicate email in import";
+            }
+        }
+        if (byEmail.isEmpty()) {
+            return;
+        }
+        for (String email : memberRepository.findExistingEmails(byEmail.keySet())) {
+            byEmail.remove(email).error = "email already registered";
+        }
+
+        List<Row> accepted = new ArrayList<>(byEmail.values());
+        List<Future<String>> hashes = new ArrayList<>(accepted.size());
+        for (Row row : accepted) {
+            hashes.add(hashers.submit(() -> {
+                hashingPermits.acquire();
+                try {
+                    return passwordEncoder.encode(row.dto.password());
+                } finally {
+                    hashingPermits.release();
+                }
+            }));
+        }
+
+        List<Row> hashed = new ArrayList<>(accepted.size());
+        for (int i = 0; i < accepted.size(); i++) {
+            Row row = accepted.get(i);
+            try {
+                row.member = toMember(row, hashes.get(i).get());
+                hashed.add(row);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while hashing imported passwords", e);
+            } catch (ExecutionException e) {
+                row.error = "password could not be hashed: " + e.getCause().getMessage();
+            }
+        }
+        if (hashed.isEmpty()) {
+            return;
+        }
+
+        List<Member> members = hashed.stream().map(row -> row.member).toList();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                memberRepository.saveAll(members);
+                emailTemplateService.sendWelcomeEmails(members);
+                members.forEach(member ->
+                        eventPublisher.publishEvent(new MemberRegisteredEvent(member.getId(), member.getInterests())));
+            });
+        } catch (DataAccessException e) {
+            log.warn("member import chunk of {} rows failed: {}", members.size(), e.getMessage());
+            hashed.forEach(row -> row.error = "could not be saved: " + e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    private String validate(Row row) {
+        Set<ConstraintViolation<SignUpDTO>> violations = validator.validate(row.dto);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        if (!PhoneNumberValidator.isValid(row.dto.phoneNumber(), "MA")) {
+            return "invalid phone number";
+        }
+        try {
+            Gender.valueOf(row.dto.gender());
+            Major.valueOf(row.dto.major());
+            AcademicYear.valueOf(row.dto.academicYear());
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+        return null;
+    }
+
+    // same shape as MemberService.registerUser
+    private static Member toMember(Row row, String passwordHash) {
+        SignUpDTO dto = row.dto;
+        return Member.builder()
+                .email(dto.email())
+                .firstName(dto.firstName())
+                .lastName(dto.lastName())
+                .phoneNumber(PhoneNumberValidator.formatToE164(dto.phoneNumber(), "MA"))
+                .gender(Gender.valueOf(dto.gender()))
+                .major(Major.valueOf(dto.major()))
+                .academicYear(AcademicYear.valueOf(dto.academicYear()))
+                .interests(dto.interests())
+                .status(AccountStatus.DISABLED)
+                .roles(Set.of(Role.USER))
+                .password(passwordHash)
+                .build();
+    }
+
+    private void write(OutputStream out, MemberImportResult result) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(result));
+        out.write(NEWLINE);
+    }
+
+    private static final class Row {
+        final long line;
+        final SignUpDTO dto;
+        String error;
+        Member member;
+
+        Row(long line, SignUpDTO dto, String error) {
+            this.line = line;
+            this.dto = dto;
+            this.error = error;
+        }
+    }
+
+    private interface RowReader {
+        // null at end of input
+        Row next() throws IOException;
+    }
+
+    private final class NdjsonRowReader implements RowReader {
+
+        private final BufferedReader reader;
+        private long line;
+
+        NdjsonRowReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public Row next() throws IOException {
+            String text;
+            do {
+                text = reader.readLine();
+                line++;
+            } while (text != null && text.isBlank());
+            if (text == null) {
+                return null;
+            }
+            try {
+                return new Row(line, objectMapper.readValue(text, SignUpDTO.class), null);
+            } catch (JsonProcessingException e) {
+                return new Row(line, null, "malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    /**
+     * RFC 4180 quoting within a line; quoted fields spanning several lines are not supported.
+     */
+    private static final class CsvRowReader implements RowReader {
+
+        private final BufferedReader reader;
+        private long line;
+        private int[] columnIndexes;
+
+        CsvRowReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public Row next() throws IOException {
+            String text;
+            do {
+                text = reader.readLine();
+                line++;
+            } while (text != null && text.isBlank());
+            if (text == null) {
+                return null;
+            }
+            if (columnIndexes == null) {
+                columnIndexes = readHeader(split(text));
+                return next();
+            }
+
+            List<String> fields = split(text);
+            String[] values = new String[CSV_COLUMNS.size()];
+            for (int i = 0; i < values.length; i++) {
+                int index = columnIndexes[i];
+                values[i] = index >= 0 && index < fields.size() ? fields.get(index) : null;
+            }
+            return new Row(line, new SignUpDTO(values[0], values[1], values[2], values[3], values[4], values[5],
+                    values[6], values[7], values[8]), null);
+        }
+
+        private static int[] readHeader(List<String> header) {
+            int[] indexes = new int[CSV_COLUMNS.size()];
+            List<String> missing = new ArrayList<>();
+            for (int i = 0; i < indexes.length; i++) {
+                indexes[i] = header.indexOf(CSV_COLUMNS.get(i));
+                if (indexes[i] < 0) {
+                    missing.add(CSV_COLUMNS.get(i));
+                }
+            }
+            if (!missing.isEmpty()) {
+                throw new InvalidImportFileException("CSV header is missing columns " + missing);
+            }
+            return indexes;
+        }
+
+        private static List<String> split(String text) {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString().trim());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            fields.add(field.toString().trim());
+            return fields;
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.authservice.service;
+
+/**
+ * Published inside the registering transaction; listeners that run after commit see only persisted members.
+ */
+public record MemberRegisteredEvent(Long id, String interests) {}
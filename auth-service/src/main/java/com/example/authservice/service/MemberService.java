@@ -1,25 +1,39 @@
 package com.example.authservice.service;
 
 
+import com.example.authservice.DTO.ActivatedMember;
+import com.example.authservice.DTO.BulkActivationRequest;
+import com.example.authservice.DTO.BulkActivationResponse;
+import com.example.authservice.DTO.InterestMatch;
 import com.example.authservice.DTO.LoginDTO;
 import com.example.authservice.DTO.LoginResponse;
+import com.example.authservice.DTO.MemberFilter;
+import com.example.authservice.DTO.MemberPage;
+import com.example.authservice.DTO.MemberSnapshot;
+import com.example.authservice.DTO.MemberSummary;
 import com.example.authservice.DTO.ParticipantDTO;
 import com.example.authservice.DTO.SignUpDTO;
-import com.example.authservice.config.RedisPublisher;
+import com.example.authservice.config.ReadYourWrites;
 import com.example.authservice.entity.Member;
 import com.example.authservice.enums.*;
 import com.example.authservice.exceptions.InvalidPhoneNumber;
 import com.example.authservice.exceptions.UserNotFoundException;
 import com.example.authservice.mail.EmailTemplateService;
 import com.example.authservice.repository.MemberRepository;
+import com.example.authservice.security.AuthFailureLog;
+import com.example.authservice.security.AuthMetrics;
 import com.example.authservice.security.CustomUserDetails;
 import com.example.authservice.security.jwt.JwtUtil;
+import com.example.authservice.security.jwt.JwtVerification;
+import com.example.authservice.security.jwt.TokenRevocations;
 import com.example.authservice.util.PhoneNumberValidator;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -27,6 +41,12 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 @Service
@@ -34,15 +54,25 @@ import java.util.Set;
 @Slf4j
 public class MemberService {
 
+    private static final int MAX_PAGE_SIZE = 200;
+
     private final MemberRepository memberRepository;
     private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
     private final PasswordEncoder passwordEncoder;
     private final EmailTemplateService emailTemplateService;
-    private final RedisPublisher redisPublisher;
+    private final OutboxService outboxService;
+    private final InterestIndex interestIndex;
+    private final TokenRevocations tokenRevocations;
+    private final AuthMetrics authMetrics;
+    private final AuthFailureLog authFailureLog;
+    private final ReadYourWrites readYourWrites;
+    private final MemberCache memberCache;
+    private final ApplicationEventPublisher eventPublisher;
 
 
-    @Transactional(readOnly = true)
+    // deliberately not transactional: the credentials load and a password rehash each run in their own short
+    // transaction, so a login never holds two connections (or bulkhead permits) at once
     public LoginResponse authenticateUser(LoginDTO dto) {
         UsernamePasswordAuthenticationToken token = new UsernamePasswordAuthenticationToken(dto.email(), dto.password());
         Authentication authentication;
@@ -52,13 +82,19 @@ public class MemberService {
             CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
             String jwtToken = jwtUtil.generateToken(userDetails);
 
-            log.info("User {} successfully logged in", dto.email());
-
-            log.info("creating chat participant : {}", dto.email());
+            authMetrics.login("success");
+            log.debug("User {} successfully logged in", dto.email());
             return new LoginResponse(jwtToken);
         } catch (BadCredentialsException e) {
-            log.warn("user : {}, entered bad credentials : {}",dto.email() ,e.getMessage());
+            authMetrics.login("bad_credentials");
+            authFailureLog.record("login:bad_credentials");
+            log.debug("user : {}, entered bad credentials : {}",dto.email() ,e.getMessage());
             throw new BadCredentialsException("Invalid Credentials");
+        } catch (DisabledException e) {
+            authMetrics.login("disabled");
+            authFailureLog.record("login:disabled");
+            log.debug("user : {}, tried to log in before account activation", dto.email());
+            throw new DisabledException("Account is not activated yet");
         }
     }
 
@@ -79,48 +115,163 @@ public class MemberService {
                 .build();
 
         memberRepository.save(newMember);
+        readYourWrites.recordWrite(newMember.getEmail());
+        eventPublisher.publishEvent(new MemberRegisteredEvent(newMember.getId(), newMember.getInterests()));
+        authMetrics.registration("registered");
         log.info("user : {} has been registered", dto.email());
-        sendWelcomeEmail(dto.email(), dto.lastName(), dto.firstName());
+        emailTemplateService.sendWelcomeEmail(dto.email(), dto.lastName(), dto.firstName());
         return newMember.getEmail();
     }
 
+    /**
+     * Flips DISABLED to ACTIVATED in one conditional {@code UPDATE ... RETURNING}. Only the caller whose statement
+     * changed the row sends the email and participant event, so concurrent activations cannot duplicate them.
+     */
     @Transactional
     public String activateUserAccount(Long id) {
-        Member member = getUserById(id);
-
-        if (member.getStatus() == AccountStatus.ACTIVATED) {
-            log.info("Account {} is already activated", member.getEmail());
-            return member.getEmail();
+        ActivatedMember member = memberRepository.activateById(id).orElse(null);
+        if (member == null) {
+            String email = memberRepository.findEmailById(id)
+                    .orElseThrow(() -> new UserNotFoundException("user doesn't exist"));
+            log.info("Account {} is already activated", email);
+            return email;
         }
 
-        log.info("activating the account of : {}", member.getEmail());
-        member.setStatus(AccountStatus.ACTIVATED);
-        memberRepository.save(member);
-
         log.info("user : {} account has been activated", member.getEmail());
+        readYourWrites.recordWrite(member.getEmail());
 
-        sendActivationEmail(member.getEmail(), member.getLastName(), member.getFirstName());
+        emailTemplateService.sendAccountActivationEmailNotification(member.getEmail(), member.getLastName(), member.getFirstName());
 
-        try {
-            publishToRedis(new ParticipantDTO(member.getId(), member.getEmail()));
-        } catch (Exception e) {
-            log.error("Failed to publish user info to Redis Pub/Sub for user {}. The chat-service may not be available.", member.getEmail(), e);
+        outboxService.enqueueParticipant(new ParticipantDTO(member.getId(), member.getEmail()));
+        eventPublisher.publishEvent(new MembersActivatedEvent(List.of(member.getId())));
+        log.debug("user {} participant event queued for Redis Pub/Sub", member.getEmail());
+
+        return member.getEmail();
+    }
+
+    /**
+     * Activates every selected account with one {@code UPDATE ... RETURNING}; welcome-aboard emails and participant
+     * events for the activated rows are queued in the same transaction as batched inserts.
+     */
+    @Transactional
+    public BulkActivationResponse activateUserAccounts(BulkActivationRequest request) {
+        List<ActivatedMember> activated;
+        List<Long> requestedIds = null;
+        if (request.ids() != null && !request.ids().isEmpty()) {
+            requestedIds = List.copyOf(new LinkedHashSet<>(request.ids()));
+            activated = memberRepository.activateByIds(requestedIds);
+        } else {
+            activated = memberRepository.activateByMajor(Major.valueOf(request.major()).name(),
+                    request.academicYear() == null ? null : AcademicYear.valueOf(request.academicYear()).name());
         }
 
-        log.info("user {} info published to Redis Pub/Sub ", member.getEmail());
+        if (!activated.isEmpty()) {
+            activated.forEach(member -> readYourWrites.recordWrite(member.getEmail()));
+            emailTemplateService.sendAccountActivationEmailNotifications(activated);
+            outboxService.enqueueParticipants(activated.stream()
+                    .map(member -> new ParticipantDTO(member.getId(), member.getEmail()))
+                    .toList());
+            eventPublisher.publishEvent(new MembersActivatedEvent(activated.stream().map(ActivatedMember::getId).toList()));
+        }
+        log.info("bulk activation: {} account(s) activated", activated.size());
+
+        List<BulkActivationResponse.Result> results = new ArrayList<>();
+        Map<Long, ActivatedMember> activatedById = new HashMap<>();
+        for (ActivatedMember member : activated) {
+            activatedById.put(member.getId(), member);
+        }
+        if (requestedIds == null) {
+            activated.forEach(member -> results.add(
+                    new BulkActivationResponse.Result(member.getId(), member.getEmail(), ActivationOutcome.ACTIVATED)));
+            return new BulkActivationResponse(activated.size(), 0, 0, results);
+        }
+
+        Set<Long> existing = activated.size() == requestedIds.size()
+                ? activatedById.keySet()
+                : new HashSet<>(memberRepository.findExistingIds(requestedIds));
+        int alreadyActive = 0;
+        int notFound = 0;
+        for (Long id : requestedIds) {
+            ActivatedMember member = activatedById.get(id);
+            if (member != null) {
+                results.add(new BulkActivationResponse.Result(id, member.getEmail(), ActivationOutcome.ACTIVATED));
+            } else if (existing.contains(id)) {
+                alreadyActive++;
+                results.add(new BulkActivationResponse.Result(id, null, ActivationOutcome.ALREADY_ACTIVE));
+            } else {
+                notFound++;
+                results.add(new BulkActivationResponse.Result(id, null, ActivationOutcome.NOT_FOUND));
+            }
+        }
+        return new BulkActivationResponse(activated.size(), alreadyActive, notFound, results);
+    }
+
+    public void logout(String token) {
+        JwtVerification verification = jwtUtil.verify(token);
+        if (!verification.isValid()) {
+            return;
+        }
+        Claims claims = verification.claims();
+        if (claims.getId() != null) {
+            tokenRevocations.revokeToken(claims.getId(), claims.getExpiration());
+        } else {
+            // issued before tokens carried an id: only revoking everything of the user reaches it
+            tokenRevocations.revokeAllFor(claims.getSubject());
+        }
+        log.info("user {} logged out", claims.getSubject());
+    }
 
+    @Transactional(readOnly = true)
+    public String revokeSessions(Long id) {
+        Member member = getUserById(id);
+        tokenRevocations.revokeAllFor(member.getEmail());
+        log.info("all sessions of {} revoked by {}", member.getEmail(), getCurrentUser());
         return member.getEmail();
     }
 
+    @Transactional(readOnly = true)
+    public MemberPage listMembers(MemberFilter filter, Long after, int size) {
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        // one extra row tells whether another page exists without a count query
+        List<MemberSummary> rows = memberRepository.findSummaries(filter, after, pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new MemberPage(rows, null);
+        }
+        List<MemberSummary> page = rows.subList(0, pageSize);
+        return new MemberPage(List.copyOf(page), page.getLast().id());
+    }
+
+    @Transactional(readOnly = true)
+    public List<InterestMatch> searchByInterests(String query, boolean activeOnly, int limit) {
+        List<InterestIndex.Hit> hits = interestIndex.search(query, activeOnly, Math.clamp(limit, 1, MAX_PAGE_SIZE));
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, MemberSummary> summaries = new HashMap<>();
+        for (MemberSummary summary : memberRepository.findSummariesByIds(hits.stream().map(InterestIndex.Hit::memberId).toList())) {
+            summaries.put(summary.id(), summary);
+        }
+        List<InterestMatch> matches = new ArrayList<>(hits.size());
+        for (InterestIndex.Hit hit : hits) {
+            MemberSummary summary = summaries.get(hit.memberId());
+            if (summary != null) {
+                matches.add(new InterestMatch(summary, hit.score()));
+            }
+        }
+        return matches;
+    }
+
     @Transactional(readOnly = true)
     public Member getUserById(Long id) {
-        return memberRepository.findMemberById((id))
+        return memberCache.findById(id)
+                .map(MemberSnapshot::toMember)
                 .orElseThrow(() -> new UserNotFoundException("user doesn't exist"));
     }
 
     @Transactional(readOnly = true)
     public Member getUserByEmail(String email) {
-        return memberRepository.findMemberByEmail(email)
+        return memberCache.findByEmail(email)
+                .map(MemberSnapshot::toMember)
                 .orElseThrow(() -> new UserNotFoundException("user doesn't exist"));
     }
 
@@ -137,29 +288,4 @@ public class MemberService {
         return PhoneNumberValidator.formatToE164(phoneNumber, "MA");
     }
 
-    @Async
-    public void sendActivationEmail(String email, String lastName, String firstName) {
-        try {
-            emailTemplateService.sendAccountActivationEmailNotification(email, lastName, firstName);
-            log.debug("Activation email sent to {}", email);
-        } catch (Exception e) {
-            log.error("failed to send email to user : {}, due to : {}",email ,e.getMessage());
-        }
-    }
-
-    @Async
-    public void sendWelcomeEmail(String email, String lastName, String firstName) {
-        try {
-            emailTemplateService.sendWelcomeEmail(email, lastName, firstName);
-            log.debug("Welcome email sent to {}", email);
-        } catch (Exception e) {
-            log.error("failed to send email to user : {}, due to : {}",email ,e.getMessage());
-        }
-    }
-
-    @Async
-    public void publishToRedis(ParticipantDTO msg) {
-        redisPublisher.publish(msg);
-    }
-
 }
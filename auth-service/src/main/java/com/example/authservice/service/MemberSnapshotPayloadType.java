@@ -0,0 +1,78 @@
+package com.example.authservice.service;
+
+import com.example.authservice.DTO.MemberSnapshot;
+import com.example.authservice.enums.AcademicYear;
+import com.example.authservice.enums.AccountStatus;
+import com.example.authservice.enums.Gender;
+import com.example.authservice.enums.Major;
+import com.example.authservice.enums.Role;
+import com.example.authservice.serialization.BinaryReader;
+import com.example.authservice.serialization.BinaryWriter;
+import com.example.authservice.serialization.PayloadType;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+// v2: id, email, first/last name, phone, gender, major, academic year, interests, status, roles (count + names)
+// v1: as v2 followed by the password hash, which is skipped when read
+@Component
+public class MemberSnapshotPayloadType implements PayloadType<MemberSnapshot> {
+
+    @Override
+    public int typeId() {
+        return 2;
+    }
+
+    @Override
+    public int version() {
+        return 2;
+    }
+
+    @Override
+    public Class<MemberSnapshot> javaType() {
+        return MemberSnapshot.class;
+    }
+
+    @Override
+    public void write(MemberSnapshot value, BinaryWriter out) {
+        out.writeVarLong(value.id())
+                .writeString(value.email())
+                .writeString(value.firstName())
+                .writeString(value.lastName())
+                .writeString(value.phoneNumber())
+                .writeEnum(value.gender())
+                .writeEnum(value.major())
+                .writeEnum(value.academicYear())
+                .writeString(value.interests())
+                .writeEnum(value.status())
+                .writeVarInt(value.roles().size());
+        for (Role role : value.roles()) {
+            out.writeEnum(role);
+        }
+    }
+
+    @Override
+    public MemberSnapshot read(BinaryReader in, int version) {
+        long id = in.readVarLong();
+        String email = in.readString();
+        String firstName = in.readString();
+        String lastName = in.readString();
+        String phoneNumber = in.readString();
+        Gender gender = in.readEnum(Gender.class);
+        Major major = in.readEnum(Major.class);
+        AcademicYear academicYear = in.readEnum(AcademicYear.class);
+        String interests = in.readString();
+        AccountStatus status = in.readEnum(AccountStatus.class);
+        int roleCount = in.readVarInt();
+        Set<Role> roles = EnumSet.noneOf(Role.class);
+        for (int i = 0; i < roleCount; i++) {
+            roles.add(in.readEnum(Role.class));
+        }
+        if (version == 1) {
+            in.readString();
+        }
+        return new MemberSnapshot(id, email, firstName, lastName, phoneNumber, gender, major, academicYear, interests,
+                status, Set.copyOf(roles));
+    }
+}
@@ -0,0 +1,5 @@
+package com.example.authservice.service;
+
+import java.util.List;
+
+public record MembersActivatedEvent(List<Long> ids) {}
@@ -0,0 +1,101 @@
+package com.example.authservice.service;
+
+import com.example.authservice.config.RedisPublisher;
+import com.example.authservice.entity.OutboxEvent;
+import com.example.authservice.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the outbox to Redis in id order. A batch is published in one pipeline and deleted in the same transaction;
+ * if Redis fails the whole batch stays in place and the relay backs off exponentially, so per-member ordering holds
+ * and delivery is at-least-once.
+ */
+@Service
+@Slf4j
+public class OutboxRelay {
+
+    private static final long RELAY_LOCK_KEY = 0x6f7574626f78L;
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(1);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final RedisPublisher redisPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    private final AtomicLong lagMillis = new AtomicLong();
+    private int consecutiveFailures;
+    private long retryAtMillis;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       RedisPublisher redisPublisher,
+                       TransactionTemplate transactionTemplate,
+                       @Value("${outbox.relay.batch-size:200}") int batchSize,
+                       MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.redisPublisher = redisPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        Gauge.builder("outbox.lag", lagMillis, lag -> lag.get() / 1000.0)
+                .description("Age of the oldest unpublished outbox event")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval:500ms}")
+    public void relay() {
+        if (System.currentTimeMillis() >= retryAtMillis) {
+            int published;
+            do {
+                published = relayBatch();
+            } while (published == batchSize);
+        }
+        updateLag();
+    }
+
+    private int relayBatch() {
+        Integer published = transactionTemplate.execute(status -> {
+            if (!outboxEventRepository.tryRelayLock(RELAY_LOCK_KEY)) {
+                return 0;
+            }
+            List<OutboxEvent> batch = outboxEventRepository.findNextBatch(batchSize);
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            try {
+                redisPublisher.publishAll(batch);
+            } catch (RuntimeException e) {
+                batch.forEach(event -> event.setAttempts(event.getAttempts() + 1));
+                backOff(e);
+                return 0;
+            }
+            outboxEventRepository.deleteAllInBatch(batch);
+            consecutiveFailures = 0;
+            return batch.size();
+        });
+        return published == null ? 0 : published;
+    }
+
+    private void backOff(RuntimeException e) {
+        consecutiveFailures++;
+        long delay = Math.min(MAX_BACKOFF.toMillis(), 1000L << Math.min(consecutiveFailures - 1, 16));
+        retryAtMillis = System.currentTimeMillis() + delay;
+        log.warn("outbox relay failed ({} in a row), retrying in {} ms: {}", consecutiveFailures, delay, e.getMessage());
+    }
+
+    private void updateLag() {
+        lagMillis.set(outboxEventRepository.findFirstByOrderByIdAsc()
+                .map(oldest -> Duration.between(oldest.getCreatedAt(), Instant.now()).toMillis())
+                .orElse(0L));
+    }
+}
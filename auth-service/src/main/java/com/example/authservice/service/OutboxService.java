@@ -0,0 +1,67 @@
+package com.example.authservice.service;
+
+import com.example.authservice.DTO.ParticipantDTO;
+import com.example.authservice.config.RedisPublisher;
+import com.example.authservice.entity.OutboxEvent;
+import com.example.authservice.repository.OutboxEventRepository;
+import com.example.authservice.serialization.PayloadCodec;
+import com.example.authservice.serialization.PayloadFormat;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+@Service
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final PayloadCodec payloadCodec;
+    private final List<PayloadFormat> participantFormats;
+
+    // one event per format: JSON on the existing channel for current readers, BINARY on its own channel
+    public OutboxService(OutboxEventRepository outboxEventRepository, PayloadCodec payloadCodec,
+                         @Value("${redis.payload.participant-formats:JSON}") List<PayloadFormat> participantFormats) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.payloadCodec = payloadCodec;
+        this.participantFormats = List.copyOf(participantFormats);
+    }
+
+    // must join the caller's transaction: the event is committed (or rolled back) together with the member change
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueParticipant(ParticipantDTO participant) {
+        enqueueParticipants(List.of(participant));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueParticipants(List<ParticipantDTO> participants) {
+        Instant now = Instant.now();
+        List<OutboxEvent> events = new ArrayList<>(participants.size() * participantFormats.size());
+        for (ParticipantDTO participant : participants) {
+            for (PayloadFormat format : participantFormats) {
+                events.add(participantEvent(participant, format, now));
+            }
+        }
+        outboxEventRepository.saveAll(events);
+    }
+
+    private OutboxEvent participantEvent(ParticipantDTO participant, PayloadFormat format, Instant now) {
+        byte[] payload = payloadCodec.encode(participant, format);
+        return OutboxEvent.builder()
+                .channel(format == PayloadFormat.BINARY
+                        ? RedisPublisher.PARTICIPANT_BINARY_CHANNEL
+                        : RedisPublisher.PARTICIPANT_CHANNEL)
+                .memberId(participant.id())
+                .payload(format == PayloadFormat.BINARY
+                        ? Base64.getEncoder().encodeToString(payload)
+                        : new String(payload, StandardCharsets.UTF_8))
+                .format(format)
+                .createdAt(now)
+                .build();
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.authservice.service;
+
+import com.example.authservice.DTO.ParticipantDTO;
+import com.example.authservice.serialization.BinaryReader;
+import com.example.authservice.serialization.BinaryWriter;
+import com.example.authservice.serialization.PayloadType;
+import org.springframework.stereotype.Component;
+
+// v1: id, email
+@Component
+public class ParticipantPayloadType implements PayloadType<ParticipantDTO> {
+
+    @Override
+    public int typeId() {
+        return 1;
+    }
+
+    @Override
+    public int version() {
+        return 1;
+    }
+
+    @Override
+    public Class<ParticipantDTO> javaType() {
+        return ParticipantDTO.class;
+    }
+
+    @Override
+    public void write(ParticipantDTO value, BinaryWriter out) {
+        out.writeVarLong(value.id()).writeString(value.email());
+    }
+
+    @Override
+    public ParticipantDTO read(BinaryReader in, int version) {
+        return new ParticipantDTO(in.readVarLong(), in.readString());
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.authservice.service;
+
+import com.example.authservice.DTO.ParticipantDTO;
+import com.example.authservice.DTO.ParticipantResyncResult;
+import com.example.authservice.exceptions.ResyncInProgressException;
+import com.example.authservice.repository.MemberRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Replays every activated member into a Redis Stream so the chat-service can rebuild its participant list after
+ * missing pub/sub messages. Rows come from a server-side cursor and go out as one pipelined round trip per chunk
+ * (an {@code XADD} per member plus the checkpoint), so memory stays at one chunk whatever the member count. A run
+ * that fails part-way resumes after the last checkpointed id; entries around the failure may be delivered twice,
+ * so consumers upsert by id. The stream opens with a {@code resync-started} entry and closes with
+ * {@code resync-completed}, which carries the members sent by the finishing run ({@code sentThisRun}) and the id it
+ * resumed after ({@code resumedAfter}, 0 for a full run), not the total participant count. The run lock is renewed before every chunk only while this run still holds it; a run
+ * that lost it (e.g. after a pause longer than the lock timeout) stops instead of writing next to its successor.
+ */
+@Component
+@Slf4j
+public class ParticipantResync {
+
+    private static final RedisScript<Long> RELEASE_LOCK = RedisScript.of(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+    private static final RedisScript<Long> RENEW_LOCK = RedisScript.of(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('pexpire', KEYS[1], ARGV[2]) else return 0 end",
+            Long.class);
+
+    private final MemberRepository memberRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final String streamKey;
+    private final String checkpointKey;
+    private final String lockKey;
+    private final int chunkSize;
+    private final long maxLength;
+    private final Duration lockTimeout;
+    private final boolean onStartup;
+
+    public ParticipantResync(MemberRepository memberRepository,
+                             StringRedisTemplate redisTemplate,
+                             TransactionTemplate transactionTemplate,
+                             @Value("${participants.resync.stream-key:stream-participants}") String streamKey,
+                             @Value("${participants.resync.chunk-size:500}") int chunkSize,
+                             @Value("${participants.resync.max-length:200000}") long maxLength,
+                             @Value("${participants.resync.lock-timeout:1m}") Duration lockTimeout,
+                             @Value("${participants.resync.on-startup:false}") boolean onStartup) {
+        this.memberRepository = memberRepository;
+        this.redisTemplate = redisTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        this.streamKey = streamKey;
+        this.checkpointKey = streamKey + ":checkpoint";
+        this.lockKey = streamKey + ":lock";
+        this.chunkSize = chunkSize;
+        this.maxLength = maxLength;
+        this.lockTimeout = lockTimeout;
+        this.onStartup = onStartup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resyncOnStartup() {
+        if (!onStartup) {
+            return;
+        }
+        // off the startup thread so readiness does not wait for the stream
+        Thread.ofVirtual().name("participant-resync").start(() -> {
+            try {
+                resync(false);
+            } catch (ResyncInProgressException e) {
+                log.debug("participant resync skipped: {}", e.getMessage());
+            } catch (RuntimeException e) {
+                log.warn("participant resync failed, it resumes from its checkpoint next time: {}", e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * @param restart ignore the checkpoint of an unfinished run and start from the first member
+     */
+    public ParticipantResyncResult resync(boolean restart) {
+        String lockToken = UUID.randomUUID().toString();
+        if (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(lockKey, lockToken, lockTimeout))) {
+            throw new ResyncInProgressException("a participant resync is already running");
+        }
+        long startedAt = System.nanoTime();
+        try {
+            String checkpoint = restart ? null : redisTemplate.opsForValue().get(checkpointKey);
+            long resumedAfter = checkpoint == null ? 0 : Long.parseLong(checkpoint);
+            long[] progress = readOnlyTransaction.execute(status -> stream(resumedAfter, lockToken));
+
+            renewLock(lockToken);
+            writeMarker("resync-completed", Map.of(
+                    "sentThisRun", Long.toString(progress[0]),
+                    "resumedAfter", Long.toString(resumedAfter)));
+            redisTemplate.delete(checkpointKey);
+            ParticipantResyncResult result = new ParticipantResyncResult(progress[0], resumedAfter, progress[1],
+                    (System.nanoTime() - startedAt) / 1_000_000);
+            log.info("participant resync sent {} member(s) after id {} in {} ms",
+                    result.sent(), resumedAfter, result.elapsedMillis());
+            return result;
+        } finally {
+            redisTemplate.execute(RELEASE_LOCK, List.of(lockKey), lockToken);
+        }
+    }
+
+    // returns {members sent, last id sent}
+    private long[] stream(long after, String lockToken) {
+        writeMarker("resync-started", Map.of("after", Long.toString(after)));
+        List<ParticipantDTO> chunk = new ArrayList<>(chunkSize);
+        long sent = 0;
+        long lastId = after;
+        try (Stream<ParticipantDTO> rows = memberRepository.streamActivatedParticipants(after)) {
+            for (ParticipantDTO participant : (Iterable<ParticipantDTO>) rows::iterator) {
+                chunk.add(participant);
+                if (chunk.size() == chunkSize) {
+                    lastId = flush(chunk, lockToken);
+                    sent += chunk.size();
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            lastId = flush(chunk, lockToken);
+            sent += chunk.size();
+        }
+        return new long[]{sent, lastId};
+    }
+
+    private long flush(List<ParticipantDTO> chunk, String lockToken) {
+        renewLock(lockToken);
+        long lastId = chunk.getLast().id();
+        byte[] stream = key(streamKey);
+        byte[] checkpoint = key(checkpointKey);
+        XAddOptions options = XAddOptions.maxlen(maxLength).approximateTrimming(true);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (ParticipantDTO participant : chunk) {
+                Map<byte[], byte[]> fields = new LinkedHashMap<>();
+                fields.put(key("type"), key("participant"));
+                fields.put(key("id"), key(participant.id().toString()));
+                fields.put(key("email"), key(participant.email()));
+                connection.streamCommands().xAdd(MapRecord.create(stream, fields), options);
+            }
+            connection.stringCommands().set(checkpoint, key(Long.toString(lastId)));
+            return null;
+        });
+        return lastId;
+    }
+
+    private void renewLock(String lockToken) {
+        Long renewed = redisTemplate.execute(RENEW_LOCK, List.of(lockKey), lockToken, Long.toString(lockTimeout.toMillis()));
+        if (renewed == null || renewed == 0) {
+            throw new ResyncInProgressException("participant resync lost its lock to another run");
+        }
+    }
+
+    private void writeMarker(String type, Map<String, String> attributes) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("type", type);
+        fields.putAll(attributes);
+        redisTemplate.opsForStream().add(MapRecord.create(streamKey, fields));
+    }
+
+    private static byte[] key(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
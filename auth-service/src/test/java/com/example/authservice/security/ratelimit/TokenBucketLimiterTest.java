@@ -0,0 +1,77 @@
+package com.example.authservice.security.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketLimiterTest {
+
+    private static final Duration REFILL = Duration.ofMinutes(5);
+    private static final String EMAIL = "member@app-in-science.cc";
+
+    @Test
+    void clientReturningAfterTheRefillPeriodGetsAFullBucket() {
+        long start = 1_700_000_000_000L;
+        TokenBucketLimiter limiter = new TokenBucketLimiter("email", 5, REFILL, 100);
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryConsume(EMAIL)).isZero();
+        }
+        assertThat(limiter.tryConsume(EMAIL)).isPositive();
+        long firstWindow = RateLimitSync.window(start, REFILL);
+        bucket(limiter).applyClusterTotal(firstWindow, 5, bucket(limiter).drainUnsynced());
+
+        // six minutes later the idle bucket has expired locally, so the next attempt starts a new one
+        long returnWindow = RateLimitSync.window(start + Duration.ofMinutes(6).toMillis(), REFILL);
+        TokenBucketLimiter afterIdle = new TokenBucketLimiter("email", 5, REFILL, 100);
+        assertThat(afterIdle.tryConsume(EMAIL)).isZero();
+        TokenBucketLimiter.Bucket bucket = bucket(afterIdle);
+        // the counter of the new window only holds the attempt just made
+        bucket.applyClusterTotal(returnWindow, 1, bucket.drainUnsynced());
+
+        assertThat(returnWindow).isNotEqualTo(firstWindow);
+        for (int i = 0; i < 4; i++) {
+            assertThat(afterIdle.tryConsume(EMAIL)).isZero();
+        }
+    }
+
+    @Test
+    void newBucketIsChargedWhatOtherNodesConsumedInTheWindow() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter("email", 5, REFILL, 100);
+        assertThat(limiter.tryConsume(EMAIL)).isZero();
+        TokenBucketLimiter.Bucket bucket = bucket(limiter);
+
+        bucket.applyClusterTotal(7, 5, bucket.drainUnsynced());
+
+        assertThat(limiter.tryConsume(EMAIL)).isPositive();
+    }
+
+    @Test
+    void onlyConsumptionSinceTheLastSyncIsChargedWithinAWindow() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter("email", 5, REFILL, 100);
+        assertThat(limiter.tryConsume(EMAIL)).isZero();
+        TokenBucketLimiter.Bucket bucket = bucket(limiter);
+        bucket.applyClusterTotal(7, 1, bucket.drainUnsynced());
+
+        assertThat(limiter.tryConsume(EMAIL)).isZero();
+        bucket.applyClusterTotal(7, 3, bucket.drainUnsynced());
+
+        // 5 - 2 own - 1 elsewhere
+        assertThat(limiter.tryConsume(EMAIL)).isZero();
+        assertThat(limiter.tryConsume(EMAIL)).isZero();
+        assertThat(limiter.tryConsume(EMAIL)).isPositive();
+    }
+
+    @Test
+    void windowsAreOneRefillPeriodLong() {
+        long start = RateLimitSync.window(0, REFILL);
+
+        assertThat(RateLimitSync.window(REFILL.toMillis() - 1, REFILL)).isEqualTo(start);
+        assertThat(RateLimitSync.window(REFILL.toMillis(), REFILL)).isEqualTo(start + 1);
+    }
+
+    private static TokenBucketLimiter.Bucket bucket(TokenBucketLimiter limiter) {
+        return limiter.snapshot().getFirst().getValue();
+    }
+}
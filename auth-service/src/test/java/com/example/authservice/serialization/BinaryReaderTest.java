@@ -0,0 +1,74 @@
+package com.example.authservice.serialization;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BinaryReaderTest {
+
+    @Test
+    void readsBackWhatTheWriterWrote() {
+        byte[] bytes = new BinaryWriter(8)
+                .writeByte(0xB1)
+                .writeVarLong(Long.MAX_VALUE)
+                .writeVarInt(-1)
+                .writeString(null)
+                .writeString("")
+                .writeString("héllo ✓")
+                .writeEnum(Thread.State.BLOCKED)
+                .writeEnum(null)
+                .toByteArray();
+
+        BinaryReader in = new BinaryReader(bytes, 0);
+
+        assertThat(in.readByte()).isEqualTo(0xB1);
+        assertThat(in.readVarLong()).isEqualTo(Long.MAX_VALUE);
+        assertThat(in.readVarInt()).isEqualTo(-1);
+        assertThat(in.readString()).isNull();
+        assertThat(in.readString()).isEmpty();
+        assertThat(in.readString()).isEqualTo("héllo ✓");
+        assertThat(in.readEnum(Thread.State.class)).isEqualTo(Thread.State.BLOCKED);
+        assertThat(in.readEnum(Thread.State.class)).isNull();
+    }
+
+    @Test
+    void startsReadingAtTheOffset() {
+        byte[] bytes = new BinaryWriter(4).writeByte(0xB1).writeVarLong(300).toByteArray();
+
+        assertThat(new BinaryReader(bytes, 1).readVarLong()).isEqualTo(300);
+    }
+
+    @Test
+    void rejectsTruncatedVarint() {
+        BinaryReader in = new BinaryReader(new byte[]{(byte) 0x80}, 0);
+
+        assertThatThrownBy(in::readVarLong).isInstanceOf(PayloadException.class).hasMessageContaining("truncated");
+    }
+
+    @Test
+    void rejectsTruncatedString() {
+        BinaryReader in = new BinaryReader(new byte[]{5, 'a'}, 0);
+
+        assertThatThrownBy(in::readString).isInstanceOf(PayloadException.class).hasMessageContaining("truncated");
+    }
+
+    @Test
+    void rejectsVarintLongerThanTenBytes() {
+        byte[] bytes = new byte[10];
+        Arrays.fill(bytes, (byte) 0xFF);
+        BinaryReader in = new BinaryReader(bytes, 0);
+
+        assertThatThrownBy(in::readVarLong).isInstanceOf(PayloadException.class).hasMessageContaining("too long");
+    }
+
+    @Test
+    void rejectsReadingPastTheEnd() {
+        BinaryReader in = new BinaryReader(new byte[]{1}, 0);
+        in.readByte();
+
+        assertThatThrownBy(in::readByte).isInstanceOf(PayloadException.class);
+    }
+}
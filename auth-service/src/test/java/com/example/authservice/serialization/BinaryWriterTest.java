@@ -0,0 +1,45 @@
+package com.example.authservice.serialization;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BinaryWriterTest {
+
+    @Test
+    void writesVarintsInSevenBitGroupsLowestFirst() {
+        assertThat(new BinaryWriter(1).writeVarLong(0).toByteArray()).containsExactly(0x00);
+        assertThat(new BinaryWriter(1).writeVarLong(127).toByteArray()).containsExactly(0x7F);
+        assertThat(new BinaryWriter(1).writeVarLong(128).toByteArray()).containsExactly(0x80, 0x01);
+        assertThat(new BinaryWriter(1).writeVarLong(300).toByteArray()).containsExactly(0xAC, 0x02);
+    }
+
+    @Test
+    void writesNegativeIntsAsUnsigned() {
+        assertThat(new BinaryWriter(1).writeVarInt(-1).toByteArray()).containsExactly(0xFF, 0xFF, 0xFF, 0xFF, 0x0F);
+    }
+
+    @Test
+    void prefixesStringsWithLengthPlusOneSoZeroMeansNull() {
+        byte[] bytes = new BinaryWriter(1).writeString(null).writeString("").writeString("ab").toByteArray();
+
+        assertThat(bytes).containsExactly(0, 1, 3, 'a', 'b');
+    }
+
+    @Test
+    void writesEnumsByName() {
+        byte[] bytes = new BinaryWriter(1).writeEnum(Thread.State.NEW).writeEnum(null).toByteArray();
+
+        assertThat(bytes).containsExactly(4, 'N', 'E', 'W', 0);
+    }
+
+    @Test
+    void growsPastItsInitialCapacity() {
+        BinaryWriter out = new BinaryWriter(1);
+        for (int i = 0; i < 100; i++) {
+            out.writeString("0123456789");
+        }
+
+        assertThat(out.toByteArray()).hasSize(100 * 11);
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.authservice.serialization;
+
+import com.example.authservice.DTO.MemberSnapshot;
+import com.example.authservice.DTO.ParticipantDTO;
+import com.example.authservice.enums.AcademicYear;
+import com.example.authservice.enums.AccountStatus;
+import com.example.authservice.enums.Gender;
+import com.example.authservice.enums.Major;
+import com.example.authservice.enums.Role;
+import com.example.authservice.service.MemberSnapshotPayloadType;
+import com.example.authservice.service.ParticipantPayloadType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PayloadCodecTest {
+
+    private static final ParticipantDTO PARTICIPANT = new ParticipantDTO(48_213L, "member@app-in-science.cc");
+    private static final MemberSnapshot MEMBER = new MemberSnapshot(48_213L, "member@app-in-science.cc", "Jane", "Doe",
+            null, Gender.FEMALE, Major.IITE, AcademicYear.SECOND_YEAR, "robotics, chess", AccountStatus.ACTIVATED,
+            Set.of(Role.USER));
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void writesMagicTypeIdAndVersionBeforeTheFields() {
+        byte[] bytes = codec(PayloadFormat.BINARY).encode(PARTICIPANT);
+
+        assertThat(PayloadCodec.isBinary(bytes)).isTrue();
+        assertThat(Arrays.copyOf(bytes, 3)).containsExactly(PayloadCodec.MAGIC, 1, 1);
+    }
+
+    @Test
+    void roundTripsRegisteredTypes() {
+        PayloadCodec codec = codec(PayloadFormat.BINARY);
+
+        assertThat(codec.decode(codec.encode(PARTICIPANT))).isEqualTo(PARTICIPANT);
+        assertThat(codec.decode(codec.encode(MEMBER), MemberSnapshot.class)).isEqualTo(MEMBER);
+    }
+
+    @Test
+    void writesJsonWhenConfiguredForJson() throws Exception {
+        byte[] bytes = codec(PayloadFormat.JSON).encode(PARTICIPANT);
+
+        assertThat(PayloadCodec.isBinary(bytes)).isFalse();
+        assertThat(objectMapper.readValue(bytes, ParticipantDTO.class)).isEqualTo(PARTICIPANT);
+    }
+
+    @Test
+    void readsJsonWrittenBeforeTheSwitchToBinary() throws Exception {
+        byte[] json = objectMapper.writeValueAsBytes(MEMBER);
+
+        assertThat(codec(PayloadFormat.BINARY).decode(json, MemberSnapshot.class)).isEqualTo(MEMBER);
+    }
+
+    @Test
+    void skipsThePasswordHashOfVersionOneMemberSnapshots() {
+        BinaryWriter out = new BinaryWriter(64).writeByte(PayloadCodec.MAGIC).writeVarInt(2).writeVarInt(1);
+        new MemberSnapshotPayloadType().write(MEMBER, out);
+        out.writeString("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z1m3U0mZ5Z3bQ8nV1Ck2mZ9u");
+
+        assertThat(codec(PayloadFormat.BINARY).decode(out.toByteArray(), MemberSnapshot.class)).isEqualTo(MEMBER);
+    }
+
+    @Test
+    void rejectsVersionsNewerThanItReads() {
+        byte[] bytes = new BinaryWriter(16).writeByte(PayloadCodec.MAGIC).writeVarInt(1).writeVarInt(2)
+                .writeVarLong(1).writeString("a@b.c").toByteArray();
+
+        assertThatThrownBy(() -> codec(PayloadFormat.BINARY).decode(bytes))
+                .isInstanceOf(PayloadException.class)
+                .hasMessageContaining("newer");
+    }
+
+    @Test
+    void rejectsUnknownTypeIds() {
+        byte[] bytes = new BinaryWriter(4).writeByte(PayloadCodec.MAGIC).writeVarInt(99).writeVarInt(1).toByteArray();
+
+        assertThatThrownBy(() -> codec(PayloadFormat.BINARY).decode(bytes))
+                .isInstanceOf(PayloadException.class)
+                .hasMessageContaining("99");
+    }
+
+    @Test
+    void rejectsTruncatedPayloads() {
+        PayloadCodec codec = codec(PayloadFormat.BINARY);
+        byte[] bytes = codec.encode(PARTICIPANT);
+
+        assertThatThrownBy(() -> codec.decode(Arrays.copyOf(bytes, bytes.length - 2)))
+                .isInstanceOf(PayloadException.class)
+                .hasMessageContaining("truncated");
+    }
+
+    @Test
+    void rejectsPayloadsOfAnotherType() {
+        PayloadCodec codec = codec(PayloadFormat.BINARY);
+        byte[] bytes = codec.encode(PARTICIPANT);
+
+        assertThatThrownBy(() -> codec.decode(bytes, MemberSnapshot.class)).isInstanceOf(PayloadException.class);
+    }
+
+    @Test
+    void rejectsUnregisteredTypesInBinaryFormat() {
+        assertThatThrownBy(() -> codec(PayloadFormat.BINARY).encode("text")).isInstanceOf(PayloadException.class);
+    }
+
+    @Test
+    void refusesTwoTypesWithTheSameId() {
+        List<PayloadType<?>> types = List.of(new ParticipantPayloadType(), new ParticipantPayloadType());
+
+        assertThatThrownBy(() -> new PayloadCodec(types, objectMapper, PayloadFormat.BINARY))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private PayloadCodec codec(PayloadFormat format) {
+        return new PayloadCodec(List.of(new ParticipantPayloadType(), new MemberSnapshotPayloadType()), objectMapper, format);
+    }
+}